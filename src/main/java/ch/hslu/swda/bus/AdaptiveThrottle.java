@@ -0,0 +1,90 @@
+package ch.hslu.swda.bus;
+
+/**
+ * Adaptive limit of the messages processed at the same time (AIMD).
+ * <p>
+ * While the measured latency of the downstream system stays below the target, the limit grows by one per adjustment
+ * (additive increase). When the latency exceeds the target, the limit is reduced by a quarter (multiplicative
+ * decrease), so the listeners back off quickly under pressure and recover slowly afterwards.
+ */
+final class AdaptiveThrottle {
+
+    private static final double DECREASE_FACTOR = 0.75;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double targetLatency;
+    private int limit;
+    private int inFlight;
+
+    /**
+     * Constructor, starts at the maximum limit.
+     *
+     * @param minLimit      Minimum limit.
+     * @param maxLimit      Maximum limit.
+     * @param targetLatency Target latency in milliseconds.
+     */
+    AdaptiveThrottle(final int minLimit, final int maxLimit, final double targetLatency) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits should be at least 1 and min not greater than max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatency = targetLatency;
+        this.limit = maxLimit;
+    }
+
+    /**
+     * Waits until a message may be processed.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    synchronized void acquire() throws InterruptedException {
+        while (inFlight >= limit) {
+            wait();
+        }
+        inFlight++;
+    }
+
+    /**
+     * Signals that a message was processed.
+     */
+    synchronized void release() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * Adjusts the limit to the latency measured since the last adjustment.
+     *
+     * @param latency Measured latency in milliseconds, NaN if nothing was measured.
+     * @return New limit.
+     */
+    synchronized int adjust(final double latency) {
+        if (!Double.isNaN(latency) && latency > targetLatency) {
+            limit = Math.max(minLimit, (int) (limit * DECREASE_FACTOR));
+        } else {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        notifyAll();
+        return limit;
+    }
+
+    /**
+     * Returns the current limit.
+     *
+     * @return Limit.
+     */
+    synchronized int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns the maximum limit.
+     *
+     * @return Maximum limit.
+     */
+    int maxLimit() {
+        return maxLimit;
+    }
+}
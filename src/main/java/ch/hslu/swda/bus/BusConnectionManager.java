@@ -0,0 +1,102 @@
+package ch.hslu.swda.bus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide owner of the connections to RabbitMQ.
+ * <p>
+ * All publishers share one connection and all listeners share another one, independent of how many publisher and
+ * listener instances exist. Publishing and consuming use separate connections, so the broker throttling a fast
+ * publisher does not block the delivery of messages to the listeners. The connections are opened on first use or
+ * when the application starts and closed when it stops.
+ */
+public final class BusConnectionManager implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BusConnectionManager.class);
+    private static final BusConnectionManager INSTANCE = new BusConnectionManager(new RabbitMqConfig());
+
+    private final RabbitMqConfig config;
+    private BusConnector publishing;
+    private BusConnector consuming;
+
+    /**
+     * Constructor.
+     *
+     * @param config RabbitMQ configuration.
+     */
+    BusConnectionManager(final RabbitMqConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Returns the connection manager of the process.
+     *
+     * @return Connection manager.
+     */
+    public static BusConnectionManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the RabbitMQ configuration, read once for the process.
+     *
+     * @return RabbitMQ configuration.
+     */
+    public RabbitMqConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the shared connector for publishing, connects on first use.
+     *
+     * @return Publishing connector.
+     */
+    public synchronized BusConnector publishing() {
+        if (publishing == null) {
+            LOG.info("Opening shared publishing connection");
+            publishing = new BusConnector(config);
+            publishing.connectWithRetry();
+        }
+        return publishing;
+    }
+
+    /**
+     * Returns the shared connector for consuming, connects on first use.
+     *
+     * @return Consuming connector.
+     */
+    public synchronized BusConnector consuming() {
+        if (consuming == null) {
+            LOG.info("Opening shared consuming connection");
+            consuming = new BusConnector(config);
+            consuming.connectWithRetry();
+        }
+        return consuming;
+    }
+
+    /**
+     * Opens both connections.
+     */
+    public void start() {
+        publishing();
+        consuming();
+    }
+
+    /**
+     * Closes the connections, listeners stop receiving and unconfirmed messages are failed.
+     */
+    @Override
+    public synchronized void close() {
+        if (consuming != null) {
+            LOG.info("Closing shared consuming connection");
+            consuming.close();
+            consuming = null;
+        }
+        if (publishing != null) {
+            LOG.info("Closing shared publishing connection: {}", publishing.channelPoolStats());
+            publishing.close();
+            publishing = null;
+        }
+    }
+}
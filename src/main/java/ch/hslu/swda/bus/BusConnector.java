@@ -17,18 +17,38 @@ package ch.hslu.swda.bus;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.DoubleSupplier;
+import java.util.function.Predicate;
 
 import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.AlreadyClosedException;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
 import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryDelayHandler;
+import com.rabbitmq.client.RecoveryListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,12 +63,45 @@ public final class BusConnector implements AutoCloseable {
     // connection to bus
     private Connection connection;
 
-    // use different channels for different threads
-    private Channel channelTalk;
-    private Channel channelListen;
+    // use different channels for different threads, publishing channels are pooled
+    private ChannelPool channelsTalk;
+    private RpcClient rpcClient;
+
+    // every listened route has its own channel, mapped to the prefetch and throttle of the route
+    private final Map<Channel, RouteListener> channelsListen = new ConcurrentHashMap<>();
+
+    // messages waiting for the connection to recover
+    private final OutboundBuffer outboundBuffer;
+
+    // compression of large published messages, null if disabled
+    private final Compression compression;
+
+    // worker pools of the listeners
+    private final List<ExecutorService> listenerWorkers = new CopyOnWriteArrayList<>();
+
+    // adaptive limit of the messages processed at the same time per route, applied once enabled
+    private volatile boolean throttled;
+    private ScheduledExecutorService throttleScheduler;
+
+    // detection of already processed messages, null if disabled
+    private volatile MessageDeduplicator deduplicator;
+
+    /**
+     * Listener of a route.
+     *
+     * @param route      Route.
+     * @param prefetch   Prefetch of the route.
+     * @param channelQos True if the prefetch of the channel can be adjusted, only classic queues support it.
+     * @param throttle   Adaptive limit of the messages of the route processed at the same time.
+     */
+    private record RouteListener(String route, int prefetch, boolean channelQos, AdaptiveThrottle throttle) {
+    }
 
     public BusConnector(final RabbitMqConfig config) {
         this.config = config;
+        this.outboundBuffer = new OutboundBuffer(config.getOutboundBufferSize());
+        this.compression = Compression.fromName(config.getCompression());
+        this.deduplicator = config.getDedupCacheSize() > 0 ? new MessageDeduplicator(config.getDedupCacheSize()) : null;
     }
 
     /**
@@ -57,11 +110,41 @@ public final class BusConnector implements AutoCloseable {
      * @param exchange Exchange.
      * @param route    Route.
      * @param message  Message.
+     * @return Future completed when the broker confirmed the message.
+     * @throws IOException Exception.
+     */
+    public CompletableFuture<Void> talkAsync(final String exchange, final String route, final String message)
+            throws IOException {
+        return talkAsync(exchange, route, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Asynchronous communication with an already encoded message body.
+     *
+     * @param exchange Exchange.
+     * @param route    Route.
+     * @param message  Message body, published without copying.
+     * @return Future completed when the broker confirmed the message.
+     * @throws IOException Exception.
+     */
+    public CompletableFuture<Void> talkAsync(final String exchange, final String route, final byte[] message)
+            throws IOException {
+        return talkAsync(exchange, route, message, null);
+    }
+
+    /**
+     * Asynchronous communication with an already encoded message body and its content type.
+     *
+     * @param exchange    Exchange.
+     * @param route       Route.
+     * @param message     Message body, published without copying.
+     * @param contentType Content type of the message body, null if not set.
+     * @return Future completed when the broker confirmed the message.
      * @throws IOException Exception.
      */
-    public void talkAsync(final String exchange, final String route, final String message) throws IOException {
-        AMQP.BasicProperties props = new AMQP.BasicProperties();
-        channelTalk.basicPublish(exchange, route, props, message.getBytes(StandardCharsets.UTF_8));
+    public CompletableFuture<Void> talkAsync(final String exchange, final String route, final byte[] message,
+                                             final String contentType) throws IOException {
+        return publish(encode(exchange, route, new AMQP.BasicProperties.Builder().contentType(contentType), message));
     }
 
     /**
@@ -71,60 +154,195 @@ public final class BusConnector implements AutoCloseable {
      * @param route    Route.
      * @param corrId   Route.
      * @param message  Message.
+     * @return Future completed when the broker confirmed the message.
+     * @throws IOException Exception.
+     */
+    public CompletableFuture<Void> reply(final String exchange, final String route, final String corrId,
+                                         final String message) throws IOException {
+        return reply(exchange, route, corrId, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reply to a synchronous communication with an already encoded message body. Replies to a direct reply-to
+     * address are published to the default exchange, the only exchange direct reply-to receives from.
+     *
+     * @param exchange Exchange.
+     * @param route    Route.
+     * @param corrId   Correlation ID.
+     * @param message  Message body, published without copying.
+     * @return Future completed when the broker confirmed the message.
      * @throws IOException Exception.
      */
-    public void reply(final String exchange, final String route, final String corrId, final String message) throws IOException {
-        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().correlationId(corrId).build();
-        channelTalk.basicPublish(exchange, route, props, message.getBytes(StandardCharsets.UTF_8));
+    public CompletableFuture<Void> reply(final String exchange, final String route, final String corrId,
+                                         final byte[] message) throws IOException {
+        return publish(encode(RpcClient.replyExchange(exchange, route), route,
+                new AMQP.BasicProperties.Builder().correlationId(corrId), message));
     }
 
     /**
-     * Beispiel für synchrone Kommunikation.
+     * Creates the outbound message with a unique message id, the body is compressed if it reaches the compression
+     * threshold.
+     *
+     * @param exchange Exchange.
+     * @param route    Route.
+     * @param props    Message properties.
+     * @param message  Message body.
+     * @return Outbound message.
+     * @throws IOException Exception.
+     */
+    private OutboundMessage encode(final String exchange, final String route, final AMQP.BasicProperties.Builder props,
+                                   final byte[] message) throws IOException {
+        props.messageId(UUID.randomUUID().toString());
+        byte[] body = message;
+        if (compression != null && message.length >= config.getCompressionThreshold()) {
+            body = compression.compress(message);
+            props.contentEncoding(compression.contentEncoding());
+        }
+        return new OutboundMessage(exchange, route, props.build(), body);
+    }
+
+    /**
+     * Asynchronous communication publishing several encoded messages as one burst on the same channel.
+     *
+     * @param exchange    Exchange.
+     * @param route       Route.
+     * @param messages    Message bodies, published without copying.
+     * @param contentType Content type of the message bodies, null if not set.
+     * @return Futures completed when the broker confirmed the messages, in the order of the messages.
+     * @throws IOException Exception.
+     */
+    public List<CompletableFuture<Void>> talkAsync(final String exchange, final String route,
+                                                   final List<byte[]> messages, final String contentType)
+            throws IOException {
+        List<OutboundMessage> outbound = new ArrayList<>(messages.size());
+        for (byte[] message : messages) {
+            outbound.add(encode(exchange, route, new AMQP.BasicProperties.Builder().contentType(contentType), message));
+        }
+        publish(outbound);
+        return outbound.stream().map(OutboundMessage::confirmed).toList();
+    }
+
+    /**
+     * Publishes a message, buffers it while the connection to the broker is down.
+     *
+     * @param message Message.
+     * @return Future completed when the broker confirmed the message.
+     */
+    private CompletableFuture<Void> publish(final OutboundMessage message) {
+        publish(List.of(message));
+        return message.confirmed();
+    }
+
+    /**
+     * Publishes messages with a single borrowed channel, buffers them while the connection to the broker is down.
+     *
+     * @param messages Messages.
+     */
+    private void publish(final List<OutboundMessage> messages) {
+        if (!connection.isOpen()) {
+            buffer(messages);
+            return;
+        }
+        final AtomicInteger published = new AtomicInteger();
+        try {
+            channelsTalk.execute(c -> {
+                for (OutboundMessage message : messages) {
+                    c.publish(message);
+                    published.incrementAndGet();
+                }
+                return null;
+            });
+        } catch (IOException | AlreadyClosedException e) {
+            List<OutboundMessage> remaining = messages.subList(published.get(), messages.size());
+            if (connection.isOpen()) {
+                remaining.forEach(message -> message.confirmed().completeExceptionally(e));
+            } else {
+                LOG.warn("Connection lost, buffering {} message(s) with routing '{}'", remaining.size(),
+                        remaining.get(0).route());
+                buffer(remaining);
+            }
+        }
+    }
+
+    /**
+     * Buffers messages while the connection to the broker is down.
+     * <p>
+     * The connection may have recovered and flushed the buffer since it was checked, so it is checked again after
+     * buffering and the buffer is flushed if it is open, otherwise the messages would wait for the next outage.
+     *
+     * @param messages Messages.
+     */
+    private void buffer(final List<OutboundMessage> messages) {
+        messages.forEach(outboundBuffer::add);
+        if (connection.isOpen()) {
+            outboundBuffer.flush(channelsTalk);
+        }
+    }
+
+    /**
+     * Beispiel für synchrone Kommunikation, wartet maximal bis zum konfigurierten RPC-Timeout.
      *
      * @param exchange Exchange.
      * @param route    Route.
      * @param message  Message.
-     * @return String.
+     * @return String, or null if no reply was received in time.
      * @throws IOException          Exception.
      * @throws InterruptedException Exception.
      */
     public String talkSync(final String exchange, final String route, final String message)
             throws IOException, InterruptedException {
-
-        // create a temporary reply queue
-        final String corrId = UUID.randomUUID().toString();
-        final String replyQueueName = channelTalk.queueDeclare().getQueue();
-        channelTalk.queueBind(replyQueueName, exchange, replyQueueName);
-
-        // setup receiver
-        final BlockingQueue<String> response = new ArrayBlockingQueue<>(1);
-        final String consumerId = channelTalk.basicConsume(replyQueueName, true, (consumerTag, delivery) -> {
-
-            // check if response matches correlation id
-            if (delivery.getProperties().getCorrelationId().equals(corrId)) {
-                response.offer(new String(delivery.getBody(), StandardCharsets.UTF_8));
+        try {
+            return call(exchange, route, message, Duration.ofMillis(config.getRpcTimeout())).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return null;
             }
-        }, consumerTag -> {
-            // empty
-        });
-
-        // send message
-        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().correlationId(corrId).replyTo(replyQueueName)
-                .build();
-        channelTalk.basicPublish(exchange, route, props, message.getBytes(StandardCharsets.UTF_8));
+            throw new IOException(e.getCause());
+        }
+    }
 
-        // To receive a message without timeout, use:
-        // String result = response.take();
+    /**
+     * Asynchronous request-reply communication using direct reply-to.
+     *
+     * @param exchange Exchange.
+     * @param route    Route.
+     * @param message  Message.
+     * @param timeout  Maximum time to wait for the reply.
+     * @return Future completed with the reply or exceptionally with a TimeoutException.
+     * @throws IOException Exception.
+     */
+    public CompletableFuture<String> call(final String exchange, final String route, final String message,
+                                          final Duration timeout) throws IOException {
+        return rpcClient.call(exchange, route, message, timeout);
+    }
 
-        // receive message with timeout
-        final String result = response.poll(5, TimeUnit.SECONDS);
-        channelTalk.basicCancel(consumerId);
-        return result;
+    /**
+     * Checks if the connection to the broker is open, messages published while it is down are buffered.
+     *
+     * @return True if connected.
+     */
+    public boolean isConnected() {
+        return connection != null && connection.isOpen();
+    }
 
+    /**
+     * Returns the statistics of the publishing channel pool.
+     *
+     * @return Pool statistics.
+     */
+    public String channelPoolStats() {
+        return channelsTalk.stats().toString();
     }
 
     /**
      * Beispiel für Listener (asynchroner Empfang).
+     * <p>
+     * Every route is consumed on its own channel with manual acknowledgements and the prefetch of the route, so a
+     * flood of messages on one route does not delay the dispatching of another. The receiver is invoked on a bounded
+     * worker pool of the route, the message is acknowledged after the receiver completed. Failed messages are retried
+     * with an increasing delay and dead-lettered if they keep failing. Compressed message bodies are decompressed
+     * according to their content encoding. The queue is declared with the configured settings of the route.
+     * Messages that were already processed are acknowledged without invoking the receiver again.
      *
      * @param exchange  Exchange.
      * @param queueName Queue.
@@ -134,21 +352,371 @@ public final class BusConnector implements AutoCloseable {
      */
     public void listenFor(final String exchange, final String queueName, final String route,
                           final MessageReceiver receiver) throws IOException {
+        listenFor(exchange, queueName, route, receiver, null);
+    }
 
-        // create queue to receive messages
-        channelListen.queueDeclare(queueName, true, false, true, new HashMap<>());
-        channelListen.queueBind(queueName, exchange, route);
+    /**
+     * Listener with partitioned processing.
+     * <p>
+     * Works like {@link #listenFor(String, String, String, MessageReceiver)}, but instead of a worker pool every
+     * message is processed by one of the single-threaded partitions of the route, selected by the hash of its
+     * partition key. Messages with the same key keep their order, while messages with different keys are processed
+     * in parallel.
+     *
+     * @param exchange    Exchange.
+     * @param queueName   Queue.
+     * @param route       Route.
+     * @param receiver    Empfänger.
+     * @param partitioner Extracts the partition key, null to use a worker pool instead.
+     * @throws IOException IOException.
+     */
+    public void listenFor(final String exchange, final String queueName, final String route,
+                          final MessageReceiver receiver, final PartitionKeyExtractor partitioner) throws IOException {
 
-        // add listener
-        DeliverCallback deliverCallback = (consumerTag, delivery) -> {
-            String message = new String(delivery.getBody(), StandardCharsets.UTF_8);
-            receiver.onMessageReceived(route, delivery.getProperties().getReplyTo(), delivery.getProperties().getCorrelationId(), message);
-        };
-        channelListen.basicConsume(queueName, true, deliverCallback, consumerTag -> {
+        // create the channel of the route, the queue to receive messages and the queues to retry failed messages
+        final Channel channel = connection.createChannel();
+        final QueueSettings queueSettings = config.getQueueSettings(route);
+        channel.queueDeclare(queueName, true, false, queueSettings.autoDelete(), queueSettings.arguments());
+        channel.queueBind(queueName, exchange, route);
+        final RetryTopology retryTopology = new RetryTopology(exchange, queueName, route, config.getRetryMax(),
+                config.getRetryDelay());
+        retryTopology.declare(channel);
+
+        // add listener, the prefetch limits the unacknowledged messages of the consumer
+        final int prefetch = config.getConsumerPrefetch(route);
+        final AdaptiveThrottle throttle = new AdaptiveThrottle(1, concurrency(route),
+                config.getThrottleLatencyTarget());
+        DeliverCallback deliverCallback;
+        if (partitioner == null) {
+            final ExecutorService workers = createWorkers(route);
+            deliverCallback = (consumerTag, delivery) -> workers.execute(() -> {
+                try {
+                    process(channel, throttle, route, receiver, delivery,
+                            decode(delivery.getProperties(), delivery.getBody()));
+                } catch (IOException | RuntimeException e) {
+                    handleFailure(channel, retryTopology, delivery, e);
+                }
+            });
+        } else {
+            final List<ExecutorService> partitions = createPartitions(route);
+            deliverCallback = (consumerTag, delivery) -> {
+                final byte[] body;
+                try {
+                    body = decode(delivery.getProperties(), delivery.getBody());
+                } catch (IOException e) {
+                    handleFailure(channel, retryTopology, delivery, e);
+                    return;
+                }
+                final int partition;
+                try {
+                    partition = partition(partitioner, delivery.getProperties(), body, partitions.size());
+                } catch (RuntimeException e) {
+                    handleFailure(channel, retryTopology, delivery,
+                            new IllegalArgumentException("failed to extract partition key: " + e.getMessage(), e));
+                    return;
+                }
+                partitions.get(partition).execute(() -> {
+                    try {
+                        process(channel, throttle, route, receiver, delivery, body);
+                    } catch (RuntimeException e) {
+                        handleFailure(channel, retryTopology, delivery, e);
+                    }
+                });
+            };
+        }
+        channel.basicQos(prefetch);
+        channel.basicConsume(queueName, false, deliverCallback, consumerTag -> {
             // empty
         });
+        channelsListen.put(channel, new RouteListener(route, prefetch,
+                QueueSettings.CLASSIC.equals(queueSettings.type()), throttle));
+    }
+
+    /**
+     * Adapts the number of messages processed at the same time to the latency of a downstream system.
+     * <p>
+     * The latency is sampled periodically and the limit of every route adjusted with additive increase and
+     * multiplicative decrease, from the number of messages the route can process at the same time down to one. Every
+     * route has its own limit, so the messages of a flooded route do not hold back the workers of another route. The
+     * prefetch of every listener channel follows the limit in proportion to the prefetch of its route, so the broker
+     * also holds back messages while the downstream system is under pressure. Quorum queues do not support
+     * the prefetch of a channel, so their routes are only throttled by the limit. Disabled if the configured target
+     * latency is 0.
+     *
+     * @param latency Returns the latency in milliseconds since the last call, NaN if nothing was measured.
+     */
+    public void throttleBy(final DoubleSupplier latency) {
+        final long target = config.getThrottleLatencyTarget();
+        if (target <= 0 || throttled) {
+            return;
+        }
+        throttleScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "bus-throttle");
+            thread.setDaemon(true);
+            return thread;
+        });
+        throttleScheduler.scheduleAtFixedRate(() -> adjustThrottle(latency.getAsDouble()),
+                config.getThrottleInterval(), config.getThrottleInterval(), TimeUnit.MILLISECONDS);
+        throttled = true;
+        LOG.info("Adaptive throttling enabled with a target latency of {} ms", target);
+    }
+
+    /**
+     * Adjusts the throttle limit and the prefetch of every listener channel.
+     *
+     * @param latency Latency in milliseconds, NaN if nothing was measured.
+     */
+    private void adjustThrottle(final double latency) {
+        channelsListen.forEach((channel, listener) -> {
+            final AdaptiveThrottle adaptive = listener.throttle();
+            final int previous = adaptive.limit();
+            final int limit = adaptive.adjust(latency);
+            if (limit == previous) {
+                return;
+            }
+            LOG.info("Latency {} ms, throttling route '{}' to {} of {} messages in progress",
+                    String.format("%.1f", latency), listener.route(), limit, adaptive.maxLimit());
+            if (!listener.channelQos()) {
+                return;
+            }
+            final int prefetch = (int) Math.max(1,
+                    Math.round((double) listener.prefetch() * limit / adaptive.maxLimit()));
+            try {
+                synchronized (channel) {
+                    channel.basicQos(prefetch, true);
+                }
+            } catch (IOException | AlreadyClosedException e) {
+                LOG.warn("Failed to adjust prefetch: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Keeps the processed messages additionally in a store, so messages redelivered after a restart are still
+     * recognized. The store is only queried for messages the broker delivers again.
+     *
+     * @param contains Checks if the store contains the key of a processed message.
+     * @param add      Adds the key of a processed message to the store.
+     */
+    public void deduplicateWith(final Predicate<String> contains, final Consumer<String> add) {
+        final int size = config.getDedupCacheSize();
+        if (size > 0) {
+            deduplicator = new MessageDeduplicator(size, contains, add);
+        }
+    }
+
+    /**
+     * Hands a received message to the receiver and acknowledges it, skips messages that were already processed.
+     *
+     * @param channel  Channel of the route.
+     * @param throttle Throttle of the route.
+     * @param route    Route.
+     * @param receiver Receiver.
+     * @param delivery Received message.
+     * @param body     Decompressed message body.
+     */
+    private void process(final Channel channel, final AdaptiveThrottle throttle, final String route,
+                         final MessageReceiver receiver, final Delivery delivery, final byte[] body) {
+        final MessageDeduplicator dedup = deduplicator;
+        final String key = dedup != null ? MessageDeduplicator.key(delivery.getProperties(), body) : null;
+        if (key != null && dedup.isDuplicate(key, isRedelivered(delivery))) {
+            LOG.info("Message {} with routing '{}' was already processed, skipping it", key,
+                    delivery.getEnvelope().getRoutingKey());
+            acknowledge(channel, delivery.getEnvelope().getDeliveryTag());
+            return;
+        }
+        final AdaptiveThrottle current = throttled ? throttle : null;
+        if (current != null) {
+            try {
+                current.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject(channel, delivery.getEnvelope().getDeliveryTag());
+                return;
+            }
+        }
+        try {
+            receiver.onMessageReceived(route, delivery.getProperties().getReplyTo(),
+                    delivery.getProperties().getCorrelationId(), delivery.getProperties().getContentType(), body);
+            if (key != null) {
+                dedup.processed(key);
+            }
+            acknowledge(channel, delivery.getEnvelope().getDeliveryTag());
+        } finally {
+            if (current != null) {
+                current.release();
+            }
+        }
+    }
+
+    /**
+     * Checks if the broker delivers a message again, after a lost acknowledgement or as a retry of a failure.
+     *
+     * @param delivery Received message.
+     * @return True if the message was delivered before.
+     */
+    private static boolean isRedelivered(final Delivery delivery) {
+        return delivery.getEnvelope().isRedeliver() || RetryTopology.retryCount(delivery.getProperties()) > 0;
+    }
+
+    /**
+     * Selects the partition of a message.
+     * <p>
+     * Runs on the AMQP client thread, which dispatches the messages of all partitions. The key is taken from the
+     * {@link PartitionKeyExtractor#HEADER} header if the publisher set it, otherwise it is extracted from the body.
+     *
+     * @param partitioner Extracts the partition key.
+     * @param props       Message properties.
+     * @param body        Decompressed message body.
+     * @param count       Number of partitions.
+     * @return Partition index, the first partition if the message has no key.
+     * @throws RuntimeException If the key can not be extracted.
+     */
+    private static int partition(final PartitionKeyExtractor partitioner, final AMQP.BasicProperties props,
+                                 final byte[] body, final int count) {
+        Object header = props.getHeaders() != null ? props.getHeaders().get(PartitionKeyExtractor.HEADER) : null;
+        Object key = header != null ? header.toString() : partitioner.partitionKey(props.getContentType(), body);
+        return key != null ? Math.floorMod(key.hashCode(), count) : 0;
     }
 
+    /**
+     * Retries a failed message later or dead-letters it.
+     * <p>
+     * Messages that can never be processed, i.e. the receiver rejected them with an IllegalArgumentException or the
+     * body could not be decoded, are dead-lettered immediately. The failed message is acknowledged once the broker
+     * confirmed the retry or dead-letter message, if that fails it is requeued so it is not lost.
+     *
+     * @param channel       Channel of the route.
+     * @param retryTopology Retry topology of the listener queue.
+     * @param delivery      Failed message.
+     * @param cause         Failure.
+     */
+    private void handleFailure(final Channel channel, final RetryTopology retryTopology, final Delivery delivery,
+                               final Exception cause) {
+        final long deliveryTag = delivery.getEnvelope().getDeliveryTag();
+        final boolean poison = cause instanceof IllegalArgumentException || cause instanceof IOException;
+        final OutboundMessage reroute = retryTopology.reroute(delivery, poison, cause);
+        if (reroute.exchange().isEmpty()) {
+            LOG.warn("Processing message with routing '{}' failed, retry {} in {}: {}",
+                    delivery.getEnvelope().getRoutingKey(), RetryTopology.retryCount(reroute.props()),
+                    reroute.route(), cause.getMessage());
+        } else {
+            LOG.error("Processing message with routing '{}' failed, moving it to the dead-letter queue: {}",
+                    delivery.getEnvelope().getRoutingKey(), cause.getMessage(), cause);
+        }
+        publish(reroute).whenComplete((ignored, e) -> {
+            if (e == null) {
+                acknowledge(channel, deliveryTag);
+            } else {
+                LOG.error("Failed to reroute message {}, requeuing it: {}", deliveryTag, e.getMessage());
+                reject(channel, deliveryTag);
+            }
+        });
+    }
+
+    /**
+     * Decompresses a received message body according to its content encoding.
+     *
+     * @param props Message properties.
+     * @param body  Message body.
+     * @return Decompressed message body.
+     * @throws IOException If the content encoding is not supported or the body is corrupt.
+     */
+    private static byte[] decode(final AMQP.BasicProperties props, final byte[] body) throws IOException {
+        Compression encoding = Compression.fromContentEncoding(props.getContentEncoding());
+        return encoding != null ? encoding.decompress(body) : body;
+    }
+
+    /**
+     * Acknowledges a received message.
+     *
+     * @param channel     Channel the message was received on.
+     * @param deliveryTag Delivery tag of the message.
+     */
+    private static void acknowledge(final Channel channel, final long deliveryTag) {
+        try {
+            synchronized (channel) {
+                channel.basicAck(deliveryTag, false);
+            }
+        } catch (IOException | AlreadyClosedException e) {
+            LOG.error("Failed to acknowledge message {}: {}", deliveryTag, e.getMessage());
+        }
+    }
+
+    /**
+     * Rejects a received message, the broker delivers it again.
+     *
+     * @param channel     Channel the message was received on.
+     * @param deliveryTag Delivery tag of the message.
+     */
+    private static void reject(final Channel channel, final long deliveryTag) {
+        try {
+            synchronized (channel) {
+                channel.basicNack(deliveryTag, false, true);
+            }
+        } catch (IOException | AlreadyClosedException e) {
+            LOG.error("Failed to reject message {}: {}", deliveryTag, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of messages of a route processed at the same time, the workers of the route or, with
+     * virtual threads, its prefetch.
+     *
+     * @param route Route.
+     * @return Number of messages, at least 1.
+     */
+    private int concurrency(final String route) {
+        return Math.max(1, WorkerThreads.isVirtual() ? config.getConsumerPrefetch(route)
+                : config.getConsumerWorkers(route));
+    }
+
+    /**
+     * Creates the bounded worker pool for the messages of a route.
+     * <p>
+     * The queue is sized to the prefetch so it never fills up, if it does the AMQP client thread processes the
+     * message itself and thereby stops dispatching. In virtual thread mode every message runs on its own virtual
+     * thread instead, the number of messages in progress is then limited by the prefetch alone.
+     *
+     * @param route Route.
+     * @return Worker pool.
+     */
+    private ExecutorService createWorkers(final String route) {
+        final ThreadFactory threads = WorkerThreads.newThreadFactory("bus-" + route + "-");
+        if (WorkerThreads.isVirtual()) {
+            ExecutorService workers = WorkerThreads.newThreadPerTaskExecutor(threads);
+            listenerWorkers.add(workers);
+            return workers;
+        }
+
+        final int size = config.getConsumerWorkers(route);
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getConsumerPrefetch(route))), threads,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        listenerWorkers.add(workers);
+        return workers;
+    }
+
+    /**
+     * Creates the single-threaded partitions for the messages of a route, one per configured worker.
+     * <p>
+     * The partitions use unbounded queues, so a message is never processed out of order by the AMQP client thread.
+     * The number of queued messages is still bounded by the prefetch. In virtual thread mode the thread of every
+     * partition is a virtual thread, like the threads of the worker pool.
+     *
+     * @param route Route.
+     * @return Partitions.
+     */
+    private List<ExecutorService> createPartitions(final String route) {
+        List<ExecutorService> partitions = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, config.getConsumerWorkers(route)); i++) {
+            ExecutorService partition = Executors.newSingleThreadExecutor(
+                    WorkerThreads.newThreadFactory("bus-" + route + "-p" + i + "-"));
+            partitions.add(partition);
+            listenerWorkers.add(partition);
+        }
+        return partitions;
+    }
 
     /**
      * Connects to Rabbit MQ.
@@ -173,6 +741,10 @@ public final class BusConnector implements AutoCloseable {
 
     /**
      * Öffnet die Verbindung zu RabbitMQ.
+     * <p>
+     * The connection recovers automatically with exponential backoff after it was lost. The channels, the queues
+     * and bindings declared by listenFor and their consumers are recovered as well, buffered messages are published
+     * after the recovery completed.
      *
      * @throws IOException      IOException.
      * @throws TimeoutException TimeoutException.
@@ -184,13 +756,61 @@ public final class BusConnector implements AutoCloseable {
         factory.setHost(config.getHost());
         factory.setUsername(config.getUsername());
         factory.setPassword(config.getPassword());
+        factory.setAutomaticRecoveryEnabled(true);
+        factory.setTopologyRecoveryEnabled(true);
+        factory.setRecoveryDelayHandler(new RecoveryDelayHandler.ExponentialBackoffDelayHandler(
+                recoveryDelays(config.getRecoveryDelayInitial(), config.getRecoveryDelayMax())));
         LOG.info("Connecting to {}...", config.getHost());
-        this.connection = factory.newConnection();
+        connect(factory.newConnection());
+        LOG.info("Successfully connected to {}...", config.getHost());
+    }
+
+    /**
+     * Uses an open connection, the buffered messages are published after each recovery of the connection.
+     *
+     * @param connection Connection.
+     * @throws IOException IOException.
+     */
+    void connect(final Connection connection) throws IOException {
+        this.connection = connection;
+        if (connection instanceof Recoverable recoverableConnection) {
+            recoverableConnection.addRecoveryListener(new RecoveryListener() {
+                @Override
+                public void handleRecoveryStarted(final Recoverable recoverable) {
+                    LOG.warn("Connection to {} lost, recovering...", config.getHost());
+                }
+
+                @Override
+                public void handleRecovery(final Recoverable recoverable) {
+                    LOG.info("Connection to {} recovered, publishing {} buffered messages",
+                            config.getHost(), outboundBuffer.size());
+                    outboundBuffer.flush(channelsTalk);
+                }
+            });
+        }
 
         // create channels within connection
-        this.channelTalk = connection.createChannel();
-        this.channelListen = connection.createChannel();
-        LOG.info("Successfully connected to {}...", config.getHost());
+        this.channelsTalk = new ChannelPool(connection, config.isPublisherConfirms(), outboundBuffer::add,
+                config.getChannelPoolSize(), config.getChannelPoolTimeout());
+        this.rpcClient = new RpcClient(connection);
+    }
+
+    /**
+     * Returns the delays between recovery attempts, doubling from the initial up to the maximum delay.
+     *
+     * @param initial Initial delay in milliseconds.
+     * @param max     Maximum delay in milliseconds.
+     * @return Delays in milliseconds, the last one is repeated.
+     */
+    private static List<Long> recoveryDelays(final long initial, final long max) {
+        List<Long> delays = new ArrayList<>();
+        long delay = Math.max(1L, initial);
+        while (delay < max) {
+            delays.add(delay);
+            delay *= 2;
+        }
+        delays.add(max);
+        return delays;
     }
 
     /**
@@ -200,9 +820,16 @@ public final class BusConnector implements AutoCloseable {
      */
     @Override
     public void close() {
+        if (throttleScheduler != null) {
+            throttleScheduler.shutdownNow();
+        }
+        listenerWorkers.forEach(ExecutorService::shutdown);
         try {
-            channelTalk.close();
-            channelListen.close();
+            channelsTalk.close();
+            rpcClient.close();
+            for (Channel channel : channelsListen.keySet()) {
+                channel.close();
+            }
             connection.close();
         } catch (IOException | TimeoutException e) {
             LOG.error(e.getMessage(), e);
@@ -0,0 +1,219 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of publishing channels.
+ * <p>
+ * AMQP channels must not be used by multiple threads at the same time for publishing, so every publish borrows
+ * a channel exclusively and returns it afterwards. Channels are created lazily up to the pool size.
+ */
+final class ChannelPool implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChannelPool.class);
+
+    private final Connection connection;
+    private final boolean confirms;
+    private final Consumer<OutboundMessage> unconfirmedHandler;
+    private final int size;
+    private final long borrowTimeout;
+    private final BlockingQueue<PublisherChannel> idle;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+
+    /**
+     * Action executed with a borrowed channel.
+     *
+     * @param <T> Result type.
+     */
+    @FunctionalInterface
+    interface ChannelAction<T> {
+
+        /**
+         * Executes the action.
+         *
+         * @param channel Borrowed channel.
+         * @return Result.
+         * @throws IOException IOException.
+         */
+        T execute(PublisherChannel channel) throws IOException;
+    }
+
+    /**
+     * Pool statistics.
+     *
+     * @param size            Maximum number of channels.
+     * @param created         Number of created channels.
+     * @param idle            Number of idle channels.
+     * @param borrowed        Total number of borrowed channels.
+     * @param timeouts        Total number of borrow timeouts.
+     * @param averageWaitTime Average time in milliseconds waited for a channel.
+     */
+    record Stats(int size, int created, int idle, long borrowed, long timeouts, double averageWaitTime) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param connection         Connection to create the channels on.
+     * @param confirms           True to enable publisher confirms on the channels.
+     * @param unconfirmedHandler Receives the unconfirmed messages when the connection is lost.
+     * @param size               Maximum number of channels.
+     * @param borrowTimeout      Maximum time in milliseconds to wait for a channel.
+     */
+    ChannelPool(final Connection connection, final boolean confirms,
+                final Consumer<OutboundMessage> unconfirmedHandler, final int size, final long borrowTimeout) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size should not be lower than 1");
+        }
+        this.connection = connection;
+        this.confirms = confirms;
+        this.unconfirmedHandler = unconfirmedHandler;
+        this.size = size;
+        this.borrowTimeout = borrowTimeout;
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Executes an action with an exclusively borrowed channel.
+     *
+     * @param action Action to execute.
+     * @param <T>    Result type.
+     * @return Result of the action.
+     * @throws IOException IOException, also if no channel is available in time.
+     */
+    <T> T execute(final ChannelAction<T> action) throws IOException {
+        PublisherChannel channel = borrow();
+        try {
+            return action.execute(channel);
+        } finally {
+            release(channel);
+        }
+    }
+
+    /**
+     * Borrows a channel from the pool, waits up to the borrow timeout if all channels are in use.
+     *
+     * @return Channel.
+     * @throws IOException IOException, also if no channel is available in time.
+     */
+    PublisherChannel borrow() throws IOException {
+        final long start = System.nanoTime();
+        PublisherChannel channel = idle.poll();
+        if (channel == null) {
+            channel = tryCreate();
+        }
+        if (channel == null) {
+            try {
+                channel = idle.poll(borrowTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while waiting for a channel", e);
+            }
+        }
+        waitNanos.addAndGet(System.nanoTime() - start);
+        if (channel == null) {
+            timeouts.incrementAndGet();
+            throw new IOException("no channel available within " + borrowTimeout + " ms");
+        }
+        if (!channel.channel().isOpen()) {
+            LOG.warn("Replacing closed channel {}", channel.channel().getChannelNumber());
+            channel.abort();
+            try {
+                channel = new PublisherChannel(connection.createChannel(), confirms, unconfirmedHandler);
+            } catch (IOException | RuntimeException e) {
+                // the closed channel is dropped, free its slot so a channel can be created after the recovery
+                created.decrementAndGet();
+                throw e;
+            }
+        }
+        borrowed.incrementAndGet();
+        return channel;
+    }
+
+    /**
+     * Returns a borrowed channel to the pool.
+     *
+     * @param channel Channel.
+     */
+    void release(final PublisherChannel channel) {
+        if (!idle.offer(channel)) {
+            LOG.warn("Channel pool full, closing surplus channel {}", channel.channel().getChannelNumber());
+            closeChannel(channel);
+        }
+    }
+
+    /**
+     * Returns the current pool statistics.
+     *
+     * @return Pool statistics.
+     */
+    Stats stats() {
+        long count = borrowed.get() + timeouts.get();
+        double averageWait = count > 0 ? waitNanos.get() / 1_000_000.0 / count : 0.0;
+        return new Stats(size, created.get(), idle.size(), borrowed.get(), timeouts.get(), averageWait);
+    }
+
+    /**
+     * Closes all idle channels.
+     */
+    @Override
+    public void close() {
+        LOG.info("Closing channel pool: {}", stats());
+        PublisherChannel channel;
+        while ((channel = idle.poll()) != null) {
+            closeChannel(channel);
+        }
+    }
+
+    /**
+     * Closes a channel if it is still open.
+     *
+     * @param channel Channel.
+     */
+    private void closeChannel(final PublisherChannel channel) {
+        try {
+            if (channel.channel().isOpen()) {
+                channel.channel().close();
+            }
+        } catch (IOException | TimeoutException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates a new channel if the pool is not yet full.
+     *
+     * @return New channel or null if the pool is full.
+     * @throws IOException IOException.
+     */
+    private PublisherChannel tryCreate() throws IOException {
+        int current = created.get();
+        while (current < size) {
+            if (created.compareAndSet(current, current + 1)) {
+                try {
+                    return new PublisherChannel(connection.createChannel(), confirms, unconfirmedHandler);
+                } catch (IOException | RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+            current = created.get();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,142 @@
+package ch.hslu.swda.bus;
+
+import net.jpountz.lz4.LZ4FrameInputStream;
+import net.jpountz.lz4.LZ4FrameOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compression of message bodies, identified by the AMQP content encoding.
+ * <p>
+ * LZ4 uses the standard LZ4 frame format, so peers in other languages can decompress it.
+ */
+enum Compression {
+    GZIP("gzip") {
+        @Override
+        OutputStream compressing(final OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+
+        @Override
+        InputStream decompressing(final InputStream in) throws IOException {
+            return new GZIPInputStream(in);
+        }
+    },
+    LZ4("lz4") {
+        @Override
+        OutputStream compressing(final OutputStream out) throws IOException {
+            return new LZ4FrameOutputStream(out);
+        }
+
+        @Override
+        InputStream decompressing(final InputStream in) throws IOException {
+            return new LZ4FrameInputStream(in);
+        }
+    };
+
+    private final String contentEncoding;
+
+    /**
+     * Constructor.
+     *
+     * @param contentEncoding AMQP content encoding.
+     */
+    Compression(final String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * Returns the AMQP content encoding.
+     *
+     * @return Content encoding.
+     */
+    String contentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * Compresses a message body.
+     *
+     * @param body Message body.
+     * @return Compressed message body.
+     * @throws IOException IOException.
+     */
+    byte[] compress(final byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+        try (OutputStream compressing = compressing(out)) {
+            compressing.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decompresses a message body.
+     *
+     * @param body Compressed message body.
+     * @return Message body.
+     * @throws IOException IOException.
+     */
+    byte[] decompress(final byte[] body) throws IOException {
+        try (InputStream decompressing = decompressing(new ByteArrayInputStream(body))) {
+            return decompressing.readAllBytes();
+        }
+    }
+
+    /**
+     * Wraps a stream to compress the data written to it.
+     *
+     * @param out Target stream.
+     * @return Compressing stream.
+     * @throws IOException IOException.
+     */
+    abstract OutputStream compressing(OutputStream out) throws IOException;
+
+    /**
+     * Wraps a stream to decompress the data read from it.
+     *
+     * @param in Source stream.
+     * @return Decompressing stream.
+     * @throws IOException IOException.
+     */
+    abstract InputStream decompressing(InputStream in) throws IOException;
+
+    /**
+     * Returns the configured compression.
+     *
+     * @param name Name of the compression, none to disable it.
+     * @return Compression or null if disabled.
+     * @throws IllegalArgumentException If the compression is unknown.
+     */
+    static Compression fromName(final String name) {
+        if (name == null || name.isBlank() || "none".equalsIgnoreCase(name)) {
+            return null;
+        }
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the compression of a received message body.
+     *
+     * @param contentEncoding AMQP content encoding, may be null.
+     * @return Compression or null if the body is not compressed.
+     * @throws IOException If the content encoding is not supported.
+     */
+    static Compression fromContentEncoding(final String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank() || "identity".equalsIgnoreCase(contentEncoding)) {
+            return null;
+        }
+        for (Compression compression : values()) {
+            if (compression.contentEncoding.equalsIgnoreCase(contentEncoding.trim())) {
+                return compression;
+            }
+        }
+        throw new IOException("unsupported content encoding " + contentEncoding);
+    }
+}
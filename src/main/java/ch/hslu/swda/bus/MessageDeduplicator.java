@@ -0,0 +1,137 @@
+package ch.hslu.swda.bus;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.rabbitmq.client.AMQP;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects messages that were already processed, so redelivered messages are processed effectively once.
+ * <p>
+ * The keys of the recently processed messages are kept in a bounded LRU cache, which answers the check for every
+ * message. The optional store keeps the keys beyond a restart, it is only queried for messages the broker delivers
+ * again, so a normal delivery does not cost a database lookup. The key is the message id, messages without a message
+ * id are identified by the digest of their body. As identical bodies may be sent on purpose, a digest only marks a
+ * message as duplicate when the broker delivers it again.
+ */
+final class MessageDeduplicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageDeduplicator.class);
+    private static final String DIGEST_PREFIX = "sha256:";
+
+    private final Map<String, Boolean> recent;
+    private final Predicate<String> storeContains;
+    private final Consumer<String> storeAdd;
+
+    /**
+     * Constructor without a store.
+     *
+     * @param capacity Maximum number of keys in the cache.
+     */
+    MessageDeduplicator(final int capacity) {
+        this(capacity, key -> false, key -> {
+            // no store
+        });
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity      Maximum number of keys in the cache.
+     * @param storeContains Checks if the store contains a key.
+     * @param storeAdd      Adds a key to the store.
+     */
+    MessageDeduplicator(final int capacity, final Predicate<String> storeContains, final Consumer<String> storeAdd) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity should be at least 1");
+        }
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.storeContains = storeContains;
+        this.storeAdd = storeAdd;
+    }
+
+    /**
+     * Returns the key of a message.
+     *
+     * @param props Message properties.
+     * @param body  Message body.
+     * @return Message id, or the digest of the body if the message has no id.
+     */
+    static String key(final AMQP.BasicProperties props, final byte[] body) {
+        final String messageId = props.getMessageId();
+        if (messageId != null && !messageId.isBlank()) {
+            return messageId;
+        }
+        try {
+            return DIGEST_PREFIX + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks if a message was already processed.
+     *
+     * @param key         Key of the message.
+     * @param redelivered True if the broker delivers the message again.
+     * @return True if the message was already processed.
+     */
+    boolean isDuplicate(final String key, final boolean redelivered) {
+        if (!redelivered && key.startsWith(DIGEST_PREFIX)) {
+            return false;
+        }
+        synchronized (recent) {
+            if (recent.get(key) != null) {
+                return true;
+            }
+        }
+        if (!redelivered) {
+            return false;
+        }
+        try {
+            return storeContains.test(key);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to look up processed message {}, processing it: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Records that a message was processed.
+     *
+     * @param key Key of the message.
+     */
+    void processed(final String key) {
+        synchronized (recent) {
+            recent.put(key, Boolean.TRUE);
+        }
+        try {
+            storeAdd.accept(key);
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to store processed message {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of keys in the cache.
+     *
+     * @return Number of keys.
+     */
+    int size() {
+        synchronized (recent) {
+            return recent.size();
+        }
+    }
+}
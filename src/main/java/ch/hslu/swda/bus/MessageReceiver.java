@@ -23,10 +23,11 @@ public interface MessageReceiver {
     /**
      * Listener Methode für Messages.
      *
-     * @param route   Route.
-     * @param replyTo ReplyTo Route.
-     * @param corrId  corrId.
-     * @param message Message.
+     * @param route       Route.
+     * @param replyTo     ReplyTo Route.
+     * @param corrId      corrId.
+     * @param contentType Content type of the message body, null if not set.
+     * @param message     Message body, as received from the broker.
      */
-    void onMessageReceived(String route, String replyTo, String corrId, String message);
+    void onMessageReceived(String route, String replyTo, String corrId, String contentType, byte[] message);
 }
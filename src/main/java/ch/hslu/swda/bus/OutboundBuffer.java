@@ -0,0 +1,75 @@
+package ch.hslu.swda.bus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded in-memory buffer for messages that cannot be published while the broker is unreachable.
+ * <p>
+ * The buffer is flushed after the connection recovered. If it is full, new messages are rejected and their
+ * confirmation future fails, so the buffer cannot exhaust the memory during a long outage.
+ */
+final class OutboundBuffer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboundBuffer.class);
+
+    private final BlockingQueue<OutboundMessage> messages;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity Maximum number of buffered messages.
+     */
+    OutboundBuffer(final int capacity) {
+        this.messages = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * Buffers a message until the connection is recovered.
+     *
+     * @param message Message.
+     */
+    void add(final OutboundMessage message) {
+        if (!messages.offer(message)) {
+            LOG.error("Outbound buffer full, dropping message with routing '{}'", message.route());
+            message.confirmed().completeExceptionally(new IOException("outbound buffer full"));
+        }
+    }
+
+    /**
+     * Publishes the buffered messages, stops at the first failure and keeps the remaining messages. Concurrent
+     * flushes are serialized, so no message is published twice.
+     *
+     * @param pool Channel pool to publish with.
+     * @return Number of published messages.
+     */
+    synchronized int flush(final ChannelPool pool) {
+        int published = 0;
+        OutboundMessage message;
+        while ((message = messages.peek()) != null) {
+            try {
+                final OutboundMessage next = message;
+                pool.execute(c -> c.publish(next));
+                messages.remove(next);
+                published++;
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Flushing outbound buffer interrupted after {} messages: {}", published, e.getMessage());
+                break;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Returns the number of buffered messages.
+     *
+     * @return Number of buffered messages.
+     */
+    int size() {
+        return messages.size();
+    }
+}
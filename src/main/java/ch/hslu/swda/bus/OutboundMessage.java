@@ -0,0 +1,31 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A message to publish together with the future completed when the broker confirmed it.
+ *
+ * @param exchange  Exchange.
+ * @param route     Route.
+ * @param props     Message properties.
+ * @param body      Message body.
+ * @param confirmed Future completed when the broker confirmed the message.
+ */
+record OutboundMessage(String exchange, String route, AMQP.BasicProperties props, byte[] body,
+                       CompletableFuture<Void> confirmed) {
+
+    /**
+     * Creates a message with a new confirmation future.
+     *
+     * @param exchange Exchange.
+     * @param route    Route.
+     * @param props    Message properties.
+     * @param body     Message body.
+     */
+    OutboundMessage(final String exchange, final String route, final AMQP.BasicProperties props,
+                    final byte[] body) {
+        this(exchange, route, props, body, new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,28 @@
+package ch.hslu.swda.bus;
+
+/**
+ * Extracts the partition key of a received message.
+ * <p>
+ * Messages with the same key are processed one after another in the order they were received, messages with
+ * different keys may be processed in parallel. The key is extracted on the single thread that dispatches the messages
+ * of all partitions, so the extraction limits the throughput of the route and should only read what it needs.
+ * Publishers can avoid it by setting the {@link #HEADER} header on every message of the route.
+ */
+@FunctionalInterface
+public interface PartitionKeyExtractor {
+
+    /**
+     * Header with the partition key set by the publisher, used instead of extracting the key from the body.
+     */
+    String HEADER = "x-partition-key";
+
+    /**
+     * Returns the partition key of a message.
+     *
+     * @param contentType Content type of the message body, null if not set.
+     * @param message     Decompressed message body.
+     * @return Partition key, its hash code selects the partition.
+     * @throws RuntimeException If the key can not be extracted, the message is then moved to the dead-letter queue.
+     */
+    Object partitionKey(String contentType, byte[] message);
+}
@@ -0,0 +1,169 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Channel used for publishing messages, optionally in publisher confirm mode.
+ * <p>
+ * In confirm mode every publish is tracked by its sequence number and completed asynchronously when the broker
+ * acknowledges it. The broker acknowledges multiple sequence numbers at once, so confirms are handled in batches
+ * without blocking the publishing thread. Messages still unconfirmed when the connection is lost are handed to the
+ * unconfirmed handler to be published again after recovery.
+ */
+final class PublisherChannel {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PublisherChannel.class);
+
+    private final Channel channel;
+    private final boolean confirms;
+    private final Consumer<OutboundMessage> unconfirmedHandler;
+    private final ConcurrentNavigableMap<Long, OutboundMessage> outstanding = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param channel            Channel to publish on.
+     * @param confirms           True to enable publisher confirms.
+     * @param unconfirmedHandler Receives the unconfirmed messages when the connection is lost.
+     * @throws IOException IOException.
+     */
+    PublisherChannel(final Channel channel, final boolean confirms,
+                     final Consumer<OutboundMessage> unconfirmedHandler) throws IOException {
+        this.channel = channel;
+        this.confirms = confirms;
+        this.unconfirmedHandler = unconfirmedHandler;
+        if (confirms) {
+            channel.confirmSelect();
+            channel.addConfirmListener(this::handleAck, this::handleNack);
+            channel.addShutdownListener(this::handleShutdown);
+        }
+    }
+
+    /**
+     * Publishes a message.
+     *
+     * @param message Message.
+     * @return Future completed when the broker confirmed the message.
+     * @throws IOException IOException.
+     */
+    synchronized CompletableFuture<Void> publish(final OutboundMessage message) throws IOException {
+        if (!confirms) {
+            channel.basicPublish(message.exchange(), message.route(), message.props(), message.body());
+            message.confirmed().complete(null);
+            return message.confirmed();
+        }
+
+        final long sequenceNumber = channel.getNextPublishSeqNo();
+        outstanding.put(sequenceNumber, message);
+        try {
+            channel.basicPublish(message.exchange(), message.route(), message.props(), message.body());
+        } catch (IOException | RuntimeException e) {
+            outstanding.remove(sequenceNumber);
+            throw e;
+        }
+        return message.confirmed();
+    }
+
+    /**
+     * Aborts the channel and fails the messages still waiting for their confirms, used when a closed channel is
+     * replaced. Aborting also stops an automatically recovering channel from being recovered later.
+     */
+    void abort() {
+        try {
+            channel.abort();
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Aborting channel {} failed: {}", channel.getChannelNumber(), e.getMessage());
+        }
+        if (!outstanding.isEmpty()) {
+            LOG.warn("Failing {} unconfirmed message(s) of replaced channel {}", outstanding.size(),
+                    channel.getChannelNumber());
+            final IOException cause = new IOException("channel closed before the message was confirmed");
+            outstanding.values().forEach(message -> message.confirmed().completeExceptionally(cause));
+            outstanding.clear();
+        }
+    }
+
+    /**
+     * Returns the underlying channel.
+     *
+     * @return Channel.
+     */
+    Channel channel() {
+        return channel;
+    }
+
+    /**
+     * Completes the confirmed messages.
+     *
+     * @param deliveryTag Sequence number confirmed by the broker.
+     * @param multiple    True if all messages up to the sequence number are confirmed.
+     */
+    private void handleAck(final long deliveryTag, final boolean multiple) {
+        Map<Long, OutboundMessage> range = confirmedRange(deliveryTag, multiple);
+        for (OutboundMessage message : range.values()) {
+            message.confirmed().complete(null);
+        }
+        range.clear();
+    }
+
+    /**
+     * Fails the messages rejected by the broker.
+     *
+     * @param deliveryTag Sequence number rejected by the broker.
+     * @param multiple    True if all messages up to the sequence number are rejected.
+     */
+    private void handleNack(final long deliveryTag, final boolean multiple) {
+        Map<Long, OutboundMessage> range = confirmedRange(deliveryTag, multiple);
+        LOG.warn("Broker rejected {} published message(s)", range.size());
+        for (OutboundMessage message : range.values()) {
+            message.confirmed().completeExceptionally(new IOException("message rejected by broker"));
+        }
+        range.clear();
+    }
+
+    /**
+     * Handles the outstanding messages when the channel is closed, their confirms will never arrive.
+     * <p>
+     * If the connection was lost, the messages are handed to the unconfirmed handler to be published again.
+     * Otherwise, e.g. after a channel error, they are failed.
+     *
+     * @param cause Shutdown signal.
+     */
+    private void handleShutdown(final ShutdownSignalException cause) {
+        if (!outstanding.isEmpty()) {
+            LOG.warn("Channel closed with {} unconfirmed message(s): {}", outstanding.size(), cause.getMessage());
+        }
+        final boolean connectionLost = cause.isHardError() && !cause.isInitiatedByApplication();
+        for (OutboundMessage message : outstanding.values()) {
+            if (connectionLost && unconfirmedHandler != null) {
+                unconfirmedHandler.accept(message);
+            } else {
+                message.confirmed().completeExceptionally(cause);
+            }
+        }
+        outstanding.clear();
+    }
+
+    /**
+     * Returns the outstanding messages affected by a confirm.
+     *
+     * @param deliveryTag Sequence number.
+     * @param multiple    True if all messages up to the sequence number are affected.
+     * @return View of the affected outstanding messages.
+     */
+    private Map<Long, OutboundMessage> confirmedRange(final long deliveryTag, final boolean multiple) {
+        return multiple
+                ? outstanding.headMap(deliveryTag, true)
+                : outstanding.subMap(deliveryTag, true, deliveryTag, true);
+    }
+}
@@ -0,0 +1,68 @@
+package ch.hslu.swda.bus;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Declaration settings of a listener queue.
+ * <p>
+ * Quorum queues are replicated and can not be auto-delete, lazy mode only applies to classic queues. Stream queues are
+ * not supported, they can only be consumed from an offset and can not requeue the negatively acknowledged messages
+ * the listeners rely on. The broker rejects the declaration of an existing queue with different arguments, so the
+ * queue has to be deleted when its settings change.
+ *
+ * @param type                 Queue type: classic or quorum.
+ * @param lazy                 True to keep the messages of a classic queue on disk.
+ * @param maxLength            Maximum number of messages, 0 for unbounded.
+ * @param overflow             Overflow behaviour: drop-head, reject-publish or reject-publish-dlx, null for default.
+ * @param messageTtl           Message TTL in milliseconds, 0 for none.
+ * @param singleActiveConsumer True to deliver to one consumer at a time.
+ * @param autoDelete           True to delete the queue when its last consumer is gone.
+ */
+record QueueSettings(String type, boolean lazy, long maxLength, String overflow, long messageTtl,
+                     boolean singleActiveConsumer, boolean autoDelete) {
+
+    static final String CLASSIC = "classic";
+    static final String QUORUM = "quorum";
+
+    /**
+     * Constructor, validates the type.
+     */
+    QueueSettings {
+        type = type == null ? CLASSIC : type.trim().toLowerCase(Locale.ROOT);
+        if (!CLASSIC.equals(type) && !QUORUM.equals(type)) {
+            throw new IllegalArgumentException("unsupported queue type " + type);
+        }
+        if (!CLASSIC.equals(type)) {
+            autoDelete = false;
+        }
+    }
+
+    /**
+     * Returns the queue arguments.
+     *
+     * @return Queue arguments.
+     */
+    Map<String, Object> arguments() {
+        Map<String, Object> args = new HashMap<>();
+        if (!CLASSIC.equals(type)) {
+            args.put("x-queue-type", type);
+        } else if (lazy) {
+            args.put("x-queue-mode", "lazy");
+        }
+        if (maxLength > 0) {
+            args.put("x-max-length", maxLength);
+        }
+        if (overflow != null && !overflow.isBlank()) {
+            args.put("x-overflow", overflow.trim());
+        }
+        if (messageTtl > 0) {
+            args.put("x-message-ttl", messageTtl);
+        }
+        if (singleActiveConsumer) {
+            args.put("x-single-active-consumer", true);
+        }
+        return args;
+    }
+}
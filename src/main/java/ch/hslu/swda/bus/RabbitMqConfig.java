@@ -29,6 +29,34 @@ public final class RabbitMqConfig {
 
     private static final Logger LOG = LoggerFactory.getLogger(RabbitMqConfig.class);
     private static final String EXCHANGE = "exchange";
+    private static final String CONFIRMS = "confirms";
+    private static final String CHANNEL_POOL_SIZE = "channel.pool.size";
+    private static final String CHANNEL_POOL_TIMEOUT = "channel.pool.timeout";
+    private static final String CONSUMER_PREFETCH = "consumer.prefetch";
+    private static final String CONSUMER_WORKERS = "consumer.workers";
+    private static final String CONSUMER = "consumer.";
+    private static final String RPC_TIMEOUT = "rpc.timeout";
+    private static final String RECOVERY_DELAY_INITIAL = "recovery.delay.initial";
+    private static final String RECOVERY_DELAY_MAX = "recovery.delay.max";
+    private static final String OUTBOUND_BUFFER_SIZE = "outbound.buffer.size";
+    private static final String CONTENT_TYPE = "content.type.";
+    private static final String COMPRESSION = "compression";
+    private static final String COMPRESSION_THRESHOLD = "compression.threshold";
+    private static final String BATCH_SIZE = "batch.size";
+    private static final String RETRY_MAX = "retry.max";
+    private static final String RETRY_DELAY = "retry.delay";
+    private static final String QUEUE = "queue.";
+    private static final String THROTTLE_LATENCY_TARGET = "throttle.latency.target";
+    private static final String THROTTLE_INTERVAL = "throttle.interval";
+    private static final String DEDUP_CACHE_SIZE = "dedup.cache.size";
+    private static final String DEDUP_STORE = "dedup.store";
+    private static final String OUTBOX_INTERVAL = "outbox.interval";
+    private static final String OUTBOX_MAX_SIZE = "outbox.max-size";
+    private static final String MEMORY_ENABLED = "memory.enabled";
+    private static final String MEMORY_CAPACITY = "memory.capacity";
+    private static final String MEMORY_CONSUMERS = "memory.consumers";
+    private static final String MEMORY_LATENCY = "memory.latency";
+    private static final String DEFAULT_CONTENT_TYPE = "application/json";
     private static final String PASSWORD = "password";
     private static final String USER = "user";
     private static final String HOST_PROPERTY = "host";
@@ -91,4 +119,230 @@ public final class RabbitMqConfig {
     public String getExchange() {
         return this.properties.getProperty(EXCHANGE);
     }
+
+    /**
+     * @return Liefert das Attribut confirms, publisher confirms sind standardmässig aktiviert.
+     */
+    boolean isPublisherConfirms() {
+        return Boolean.parseBoolean(this.properties.getProperty(CONFIRMS, "true"));
+    }
+
+    /**
+     * @return Liefert das Attribut channel.pool.size, standardmässig die Anzahl Prozessoren.
+     */
+    int getChannelPoolSize() {
+        String size = this.properties.getProperty(CHANNEL_POOL_SIZE);
+        return size != null ? Integer.parseInt(size) : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @return Liefert das Attribut channel.pool.timeout in Millisekunden.
+     */
+    long getChannelPoolTimeout() {
+        return Long.parseLong(this.properties.getProperty(CHANNEL_POOL_TIMEOUT, "5000"));
+    }
+
+    /**
+     * @return Liefert das Attribut consumer.prefetch, die maximale Anzahl unbestätigter Messages pro Consumer.
+     */
+    int getConsumerPrefetch() {
+        return Integer.parseInt(this.properties.getProperty(CONSUMER_PREFETCH, "32"));
+    }
+
+    /**
+     * @param route Route.
+     * @return Liefert das Attribut consumer.&lt;route&gt;.prefetch, die maximale Anzahl unbestätigter Messages des
+     * Consumers der Route. Standardmässig gilt consumer.prefetch.
+     */
+    int getConsumerPrefetch(final String route) {
+        final String prefetch = this.properties.getProperty(CONSUMER + route + ".prefetch");
+        return prefetch != null ? Integer.parseInt(prefetch) : getConsumerPrefetch();
+    }
+
+    /**
+     * @return Liefert das Attribut consumer.workers, die Anzahl Worker Threads pro Route.
+     */
+    int getConsumerWorkers() {
+        return Integer.parseInt(this.properties.getProperty(CONSUMER_WORKERS, "4"));
+    }
+
+    /**
+     * @param route Route.
+     * @return Liefert das Attribut consumer.&lt;route&gt;.workers, die Anzahl Worker Threads der Route.
+     * Standardmässig gilt consumer.workers.
+     */
+    int getConsumerWorkers(final String route) {
+        final String workers = this.properties.getProperty(CONSUMER + route + ".workers");
+        return workers != null ? Integer.parseInt(workers) : getConsumerWorkers();
+    }
+
+    /**
+     * @return Liefert das Attribut rpc.timeout in Millisekunden.
+     */
+    long getRpcTimeout() {
+        return Long.parseLong(this.properties.getProperty(RPC_TIMEOUT, "5000"));
+    }
+
+    /**
+     * @return Liefert das Attribut recovery.delay.initial in Millisekunden.
+     */
+    long getRecoveryDelayInitial() {
+        return Long.parseLong(this.properties.getProperty(RECOVERY_DELAY_INITIAL, "1000"));
+    }
+
+    /**
+     * @return Liefert das Attribut recovery.delay.max in Millisekunden.
+     */
+    long getRecoveryDelayMax() {
+        return Long.parseLong(this.properties.getProperty(RECOVERY_DELAY_MAX, "30000"));
+    }
+
+    /**
+     * @return Liefert das Attribut outbound.buffer.size, die maximale Anzahl gepufferter Messages.
+     */
+    int getOutboundBufferSize() {
+        return Integer.parseInt(this.properties.getProperty(OUTBOUND_BUFFER_SIZE, "10000"));
+    }
+
+    /**
+     * @param route Route.
+     * @return Liefert das Attribut content.type.&lt;route&gt;, das Format der gesendeten Messages,
+     * standardmässig JSON.
+     */
+    public String getContentType(final String route) {
+        return this.properties.getProperty(CONTENT_TYPE + route, DEFAULT_CONTENT_TYPE);
+    }
+
+    /**
+     * @return Liefert das Attribut compression (none, gzip oder lz4), standardmässig none.
+     */
+    String getCompression() {
+        return this.properties.getProperty(COMPRESSION, "none");
+    }
+
+    /**
+     * @return Liefert das Attribut compression.threshold, die minimale Grösse komprimierter Messages in Bytes.
+     */
+    int getCompressionThreshold() {
+        return Integer.parseInt(this.properties.getProperty(COMPRESSION_THRESHOLD, "8192"));
+    }
+
+    /**
+     * @return Liefert das Attribut batch.size, die maximale Anzahl Messages pro Batch.
+     */
+    public int getBatchSize() {
+        return Integer.parseInt(this.properties.getProperty(BATCH_SIZE, "100"));
+    }
+
+    /**
+     * @return Liefert das Attribut retry.max, die maximale Anzahl Wiederholungen fehlgeschlagener Messages.
+     */
+    int getRetryMax() {
+        return Integer.parseInt(this.properties.getProperty(RETRY_MAX, "3"));
+    }
+
+    /**
+     * @return Liefert das Attribut retry.delay, die Wartezeit vor der ersten Wiederholung in Millisekunden.
+     */
+    long getRetryDelay() {
+        return Long.parseLong(this.properties.getProperty(RETRY_DELAY, "1000"));
+    }
+
+    /**
+     * @param route Route.
+     * @return Liefert die Attribute queue.&lt;route&gt;.*, die Einstellungen der Queue der Route. Standardmässig ist
+     * die Queue classic und unbeschränkt, auto-delete nur ohne Wiederholungen, da die Retry-Queues ihre Messages
+     * zurück in die Queue leiten.
+     */
+    QueueSettings getQueueSettings(final String route) {
+        final String prefix = QUEUE + route + ".";
+        final boolean retries = getRetryMax() > 0;
+        final boolean autoDelete = Boolean.parseBoolean(
+                this.properties.getProperty(prefix + "auto-delete", String.valueOf(!retries)));
+        if (autoDelete && retries) {
+            throw new IllegalArgumentException("queue of route " + route + " can not be auto-delete with retries");
+        }
+        return new QueueSettings(
+                this.properties.getProperty(prefix + "type", QueueSettings.CLASSIC),
+                Boolean.parseBoolean(this.properties.getProperty(prefix + "lazy", "false")),
+                Long.parseLong(this.properties.getProperty(prefix + "max-length", "0")),
+                this.properties.getProperty(prefix + "overflow"),
+                Long.parseLong(this.properties.getProperty(prefix + "message-ttl", "0")),
+                Boolean.parseBoolean(this.properties.getProperty(prefix + "single-active-consumer", "false")),
+                autoDelete);
+    }
+
+    /**
+     * @return Liefert das Attribut throttle.latency.target, die Ziel-Latenz der Datenbank in Millisekunden, 0 um die
+     * adaptive Drosselung zu deaktivieren.
+     */
+    long getThrottleLatencyTarget() {
+        return Long.parseLong(this.properties.getProperty(THROTTLE_LATENCY_TARGET, "200"));
+    }
+
+    /**
+     * @return Liefert das Attribut throttle.interval, das Intervall der Anpassung in Millisekunden.
+     */
+    long getThrottleInterval() {
+        return Long.parseLong(this.properties.getProperty(THROTTLE_INTERVAL, "1000"));
+    }
+
+    /**
+     * @return Liefert das Attribut dedup.cache.size, die Anzahl der zuletzt verarbeiteten Message-IDs im Speicher,
+     * 0 um die Deduplizierung zu deaktivieren.
+     */
+    int getDedupCacheSize() {
+        return Integer.parseInt(this.properties.getProperty(DEDUP_CACHE_SIZE, "10000"));
+    }
+
+    /**
+     * @return Liefert das Attribut dedup.store, true um die verarbeiteten Message-IDs zusätzlich in der Datenbank
+     * zu speichern.
+     */
+    public boolean isDedupStore() {
+        return Boolean.parseBoolean(this.properties.getProperty(DEDUP_STORE, "false"));
+    }
+
+    /**
+     * @return Liefert das Attribut outbox.interval, die Wartezeit zwischen dem Senden der Outbox in Millisekunden.
+     */
+    public long getOutboxInterval() {
+        return Long.parseLong(this.properties.getProperty(OUTBOX_INTERVAL, "500"));
+    }
+
+    /**
+     * @return Liefert das Attribut outbox.max-size, die maximale Anzahl Messages in der Outbox, die ältesten werden
+     * darüber hinaus verworfen.
+     */
+    public long getOutboxMaxSize() {
+        return Long.parseLong(this.properties.getProperty(OUTBOX_MAX_SIZE, "100000"));
+    }
+
+    /**
+     * @return Liefert das Attribut memory.enabled, true um den In-Memory-Bus anstelle von RabbitMQ zu verwenden.
+     */
+    public boolean isMemoryEnabled() {
+        return Boolean.parseBoolean(this.properties.getProperty(MEMORY_ENABLED, "false"));
+    }
+
+    /**
+     * @return Liefert das Attribut memory.capacity, die Kapazität jeder Queue des In-Memory-Bus.
+     */
+    public int getMemoryCapacity() {
+        return Integer.parseInt(this.properties.getProperty(MEMORY_CAPACITY, "1000"));
+    }
+
+    /**
+     * @return Liefert das Attribut memory.consumers, die Anzahl Consumer-Threads pro Route des In-Memory-Bus.
+     */
+    public int getMemoryConsumers() {
+        return Integer.parseInt(this.properties.getProperty(MEMORY_CONSUMERS, "4"));
+    }
+
+    /**
+     * @return Liefert das Attribut memory.latency, die zusätzliche Latenz jeder Nachricht in Millisekunden.
+     */
+    public long getMemoryLatency() {
+        return Long.parseLong(this.properties.getProperty(MEMORY_LATENCY, "0"));
+    }
 }
@@ -0,0 +1,135 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Delivery;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retry and dead-letter topology of a listener queue.
+ * <p>
+ * A message that failed is published to the retry queue of its attempt. The retry queues have no consumers, their
+ * message TTL doubles from one attempt to the next and expired messages are dead-lettered back to the listener queue
+ * through the default exchange. The retry queues are named by their TTL, as the broker rejects the declaration of an
+ * existing queue with another TTL, so a changed delay declares new retry queues. The listener queue must not be
+ * auto-delete, otherwise the retried messages are dropped while it is deleted. The attempts are counted in the
+ * x-retry-count header. Poison messages, which will never succeed, and messages without attempts left are published to
+ * the dead-letter exchange instead, which routes them to the dead-letter queue of the listener queue for inspection.
+ */
+final class RetryTopology {
+
+    static final String RETRY_COUNT_HEADER = "x-retry-count";
+    static final String EXCEPTION_HEADER = "x-exception";
+
+    private final String queueName;
+    private final String route;
+    private final String deadLetterExchange;
+    private final int maxRetries;
+    private final long initialDelay;
+
+    /**
+     * Constructor.
+     *
+     * @param exchange     Exchange of the listener, the dead-letter exchange is derived from it.
+     * @param queueName    Listener queue.
+     * @param route        Route.
+     * @param maxRetries   Maximum number of retries.
+     * @param initialDelay Delay in milliseconds before the first retry.
+     */
+    RetryTopology(final String exchange, final String queueName, final String route, final int maxRetries,
+                  final long initialDelay) {
+        this.queueName = queueName;
+        this.route = route;
+        this.deadLetterExchange = exchange + ".dlx";
+        this.maxRetries = maxRetries;
+        this.initialDelay = initialDelay;
+    }
+
+    /**
+     * Declares the retry queues, the dead-letter exchange and the dead-letter queue.
+     *
+     * @param channel Channel.
+     * @throws IOException IOException.
+     */
+    void declare(final Channel channel) throws IOException {
+        channel.exchangeDeclare(deadLetterExchange, BuiltinExchangeType.DIRECT, true);
+        channel.queueDeclare(deadLetterQueue(), true, false, false, new HashMap<>());
+        channel.queueBind(deadLetterQueue(), deadLetterExchange, route);
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            Map<String, Object> args = new HashMap<>();
+            args.put("x-message-ttl", delay(attempt));
+            args.put("x-dead-letter-exchange", "");
+            args.put("x-dead-letter-routing-key", queueName);
+            channel.queueDeclare(retryQueue(attempt), true, false, false, args);
+        }
+    }
+
+    /**
+     * Creates the message that retries a failed message later or dead-letters it.
+     *
+     * @param delivery Failed message, as received from the broker.
+     * @param poison   True if the message can never be processed.
+     * @param cause    Failure.
+     * @return Message to publish before the failed message is acknowledged.
+     */
+    OutboundMessage reroute(final Delivery delivery, final boolean poison, final Exception cause) {
+        final int retries = retryCount(delivery.getProperties());
+        Map<String, Object> headers = new HashMap<>();
+        if (delivery.getProperties().getHeaders() != null) {
+            headers.putAll(delivery.getProperties().getHeaders());
+        }
+        headers.put(EXCEPTION_HEADER, String.valueOf(cause.getMessage()));
+
+        AMQP.BasicProperties.Builder props = delivery.getProperties().builder();
+        if (!poison && retries < maxRetries) {
+            headers.put(RETRY_COUNT_HEADER, retries + 1);
+            return new OutboundMessage("", retryQueue(retries + 1), props.headers(headers).build(),
+                    delivery.getBody());
+        }
+        return new OutboundMessage(deadLetterExchange, route, props.headers(headers).build(), delivery.getBody());
+    }
+
+    /**
+     * Returns the number of retries of a message.
+     *
+     * @param props Message properties.
+     * @return Number of retries, 0 for the first attempt.
+     */
+    static int retryCount(final AMQP.BasicProperties props) {
+        Object count = props.getHeaders() != null ? props.getHeaders().get(RETRY_COUNT_HEADER) : null;
+        return count instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * Returns the delay before a retry, doubling from one attempt to the next.
+     *
+     * @param attempt Retry attempt, starting at 1.
+     * @return Delay in milliseconds.
+     */
+    long delay(final int attempt) {
+        return initialDelay << Math.min(attempt - 1, 30);
+    }
+
+    /**
+     * Returns the retry queue of an attempt, named by its delay.
+     *
+     * @param attempt Retry attempt, starting at 1.
+     * @return Queue name.
+     */
+    String retryQueue(final int attempt) {
+        return queueName + ".retry." + delay(attempt);
+    }
+
+    /**
+     * Returns the dead-letter queue.
+     *
+     * @return Queue name.
+     */
+    String deadLetterQueue() {
+        return queueName + ".dead";
+    }
+}
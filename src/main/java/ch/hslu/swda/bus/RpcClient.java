@@ -0,0 +1,139 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.ShutdownSignalException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Long-lived RPC client using the direct reply-to pseudo queue of RabbitMQ.
+ * <p>
+ * Replies are matched to the pending requests by their correlation ID, so many requests can be in flight at the
+ * same time without declaring a reply queue per request. Direct reply-to requires that requests are published on
+ * the same channel that consumes the replies.
+ */
+final class RpcClient implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcClient.class);
+    private static final String REPLY_TO = "amq.rabbitmq.reply-to";
+
+    private final Channel channel;
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param connection Connection to create the channel on.
+     * @throws IOException IOException.
+     */
+    RpcClient(final Connection connection) throws IOException {
+        this.channel = connection.createChannel();
+        this.channel.addShutdownListener(this::handleShutdown);
+        this.channel.basicConsume(REPLY_TO, true, (consumerTag, delivery) -> handleReply(delivery), consumerTag -> {
+            // empty
+        });
+    }
+
+    /**
+     * Sends a request and returns the pending reply.
+     *
+     * @param exchange Exchange.
+     * @param route    Route.
+     * @param message  Request message.
+     * @param timeout  Maximum time to wait for the reply.
+     * @return Future completed with the reply or exceptionally with a TimeoutException.
+     * @throws IOException IOException.
+     */
+    CompletableFuture<String> call(final String exchange, final String route, final String message,
+                                   final Duration timeout) throws IOException {
+        final String corrId = UUID.randomUUID().toString();
+        final CompletableFuture<String> reply = new CompletableFuture<>();
+        pending.put(corrId, reply);
+
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().correlationId(corrId).replyTo(REPLY_TO)
+                .build();
+        try {
+            synchronized (channel) {
+                channel.basicPublish(exchange, route, props, message.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            pending.remove(corrId);
+            throw e;
+        }
+        return reply.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((result, e) -> pending.remove(corrId));
+    }
+
+    /**
+     * Returns the exchange to publish a reply to. Direct reply-to only receives replies published to the default
+     * exchange with the reply-to address as routing key, other replies are published to the given exchange.
+     *
+     * @param exchange Exchange of the service.
+     * @param replyTo  Reply-to address of the request.
+     * @return Exchange.
+     */
+    static String replyExchange(final String exchange, final String replyTo) {
+        return replyTo != null && replyTo.startsWith(REPLY_TO) ? "" : exchange;
+    }
+
+    /**
+     * Returns the number of requests waiting for a reply.
+     *
+     * @return Number of pending requests.
+     */
+    int pendingRequests() {
+        return pending.size();
+    }
+
+    /**
+     * Closes the channel, pending requests are failed.
+     */
+    @Override
+    public void close() {
+        try {
+            if (channel.isOpen()) {
+                channel.close();
+            }
+        } catch (IOException | TimeoutException e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Completes the pending request matching the correlation ID of the reply.
+     *
+     * @param delivery Reply.
+     */
+    private void handleReply(final Delivery delivery) {
+        String corrId = delivery.getProperties().getCorrelationId();
+        CompletableFuture<String> reply = corrId != null ? pending.remove(corrId) : null;
+        if (reply != null) {
+            reply.complete(new String(delivery.getBody(), StandardCharsets.UTF_8));
+        } else {
+            LOG.warn("Received reply for unknown or expired request {}", corrId);
+        }
+    }
+
+    /**
+     * Fails all pending requests when the channel is closed, their replies will never arrive.
+     *
+     * @param cause Shutdown signal.
+     */
+    private void handleShutdown(final ShutdownSignalException cause) {
+        pending.values().forEach(reply -> reply.completeExceptionally(cause));
+        pending.clear();
+    }
+}
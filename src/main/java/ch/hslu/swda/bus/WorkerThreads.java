@@ -0,0 +1,112 @@
+package ch.hslu.swda.bus;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in virtual thread execution mode.
+ * <p>
+ * If the environment variable VIRTUAL_THREADS is set to true and the service runs on Java 21 or newer, received
+ * messages and scheduled work run on their own virtual thread each, so blocking database calls no longer limit the
+ * concurrency to the number of platform threads. The service is built for Java 17, so the virtual thread API is
+ * looked up at runtime.
+ */
+public final class WorkerThreads {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkerThreads.class);
+    private static final String VIRTUAL_THREADS_ENV = "VIRTUAL_THREADS";
+    private static final boolean ENABLED = detect();
+
+    /**
+     * No instance allowed.
+     */
+    private WorkerThreads() {
+    }
+
+    /**
+     * Returns if the virtual thread execution mode is enabled.
+     *
+     * @return True if enabled and supported by the runtime.
+     */
+    public static boolean isVirtual() {
+        return ENABLED;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @return Executor service.
+     * @throws IllegalStateException If virtual threads are not supported by the runtime.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("virtual threads are not supported by this runtime", e);
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new thread of the given factory for each task.
+     *
+     * @param factory Thread factory.
+     * @return Executor service.
+     * @throws IllegalStateException If virtual threads are not supported by the runtime.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final ThreadFactory factory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("virtual threads are not supported by this runtime", e);
+        }
+    }
+
+    /**
+     * Creates the thread factory of the execution mode, virtual threads if enabled, platform threads otherwise.
+     *
+     * @param prefix Thread name prefix, followed by a counter starting at 1.
+     * @return Thread factory.
+     */
+    public static ThreadFactory newThreadFactory(final String prefix) {
+        if (ENABLED) {
+            try {
+                Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException
+                     | InvocationTargetException e) {
+                throw new IllegalStateException("virtual threads are not supported by this runtime", e);
+            }
+        }
+        final AtomicInteger count = new AtomicInteger();
+        return r -> new Thread(r, prefix + count.incrementAndGet());
+    }
+
+    /**
+     * Checks if the virtual thread execution mode is requested and supported.
+     *
+     * @return True if enabled.
+     */
+    private static boolean detect() {
+        if (!Boolean.parseBoolean(System.getenv().getOrDefault(VIRTUAL_THREADS_ENV, "false"))) {
+            return false;
+        }
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            LOG.info("Virtual thread execution mode enabled");
+            return true;
+        } catch (NoSuchMethodException e) {
+            LOG.warn("Virtual threads requested but not supported by Java {}, using platform threads",
+                    Runtime.version().feature());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package ch.hslu.swda.business;
+
+import ch.hslu.swda.entities.Article;
+import ch.hslu.swda.entities.WarehouseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product catalog that merges the reservation increments of an article before writing them.
+ * <p>
+ * Positive reservation amounts are collected per article and written as one increment per article when the window
+ * elapsed, so an article reserved by many deliveries in quick succession is written once. They are reported as
+ * successful right away. Negative amounts are guarded against dropping below zero, so the pending increments of the
+ * article are written first and the decrement is applied immediately. Stock changes are written through, as callers
+ * act on their result, e.g. a reorder is completed once its stock is added. Reads and the other changes through this
+ * catalog write all pending increments first. Readers using another instance, like the controllers, may see the
+ * reservations up to one window late.
+ * <p>
+ * Increments whose write fails are kept and written with the next flush. {@link #close()} writes the pending
+ * increments, it should be called before the process stops, increments still pending in a crash are lost.
+ * <p>
+ * If the environment variable CATALOG_COALESCE_WINDOW is set to a window in milliseconds greater than 0, the catalog
+ * of the service is wrapped.
+ */
+public final class CoalescingProductCatalog implements ProductCatalog, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingProductCatalog.class);
+    private static final String COALESCE_WINDOW_ENV = "CATALOG_COALESCE_WINDOW";
+
+    private final ProductCatalog delegate;
+    private final ScheduledExecutorService scheduler;
+    private final Map<ArticleKey, Integer> pending = new LinkedHashMap<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Identifies an article of a branch.
+     *
+     * @param branchId  ID of the branch.
+     * @param articleId ID of the article.
+     */
+    private record ArticleKey(long branchId, long articleId) {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param delegate     Product catalog writing the changes.
+     * @param windowMillis Time in milliseconds the reservation increments are collected before they are written.
+     */
+    public CoalescingProductCatalog(final ProductCatalog delegate, final long windowMillis) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis should not be lower than 1");
+        }
+        this.delegate = delegate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "catalog-coalesce");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flushSafely, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Wraps a product catalog if a coalescing window is configured in the environment, the pending increments are
+     * written when the process stops.
+     *
+     * @param catalog Product catalog.
+     * @return Coalescing product catalog, or the product catalog itself if not configured.
+     */
+    public static ProductCatalog wrapIfConfigured(final ProductCatalog catalog) {
+        long window = Long.parseLong(System.getenv().getOrDefault(COALESCE_WINDOW_ENV, "0"));
+        if (window <= 0) {
+            return catalog;
+        }
+        LOG.info("Coalescing reservation increments within {} ms", window);
+        CoalescingProductCatalog coalescing = new CoalescingProductCatalog(catalog, window);
+        Runtime.getRuntime().addShutdownHook(new Thread(coalescing::close, "catalog-coalesce-close"));
+        return coalescing;
+    }
+
+    @Override
+    public Article getById(long branchId, long articleId) {
+        flush();
+        return delegate.getById(branchId, articleId);
+    }
+
+    @Override
+    public Map<Long, Article> getById(long branchId, List<Long> articleIds) {
+        flush();
+        return delegate.getById(branchId, articleIds);
+    }
+
+    @Override
+    public List<Article> getAll(long branchId) {
+        flush();
+        return delegate.getAll(branchId);
+    }
+
+    @Override
+    public Article create(long branchId, Article article) {
+        flush();
+        return delegate.create(branchId, article);
+    }
+
+    @Override
+    public Article update(long branchId, long articleId, String name, BigDecimal price, int minStock) {
+        flush();
+        return delegate.update(branchId, articleId, name, price, minStock);
+    }
+
+    @Override
+    public boolean delete(long branchId, long articleId) {
+        flush();
+        return delegate.delete(branchId, articleId);
+    }
+
+    @Override
+    public boolean changeStock(long branchId, long articleId, int amount) {
+        return delegate.changeStock(branchId, articleId, amount);
+    }
+
+    @Override
+    public boolean changeReserved(long branchId, long articleId, int amount) {
+        return changeReserved(branchId, Map.of(articleId, amount)).get(articleId);
+    }
+
+    @Override
+    public Map<Long, Boolean> changeStock(long branchId, Map<Long, Integer> amounts) {
+        return delegate.changeStock(branchId, amounts);
+    }
+
+    @Override
+    public Map<Long, Boolean> changeReserved(long branchId, Map<Long, Integer> amounts) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        Map<Long, Integer> decrements = new LinkedHashMap<>();
+        synchronized (pending) {
+            amounts.forEach((articleId, amount) -> {
+                if (amount >= 0 && !scheduler.isShutdown()) {
+                    pending.merge(new ArticleKey(branchId, articleId), amount, Integer::sum);
+                    result.put(articleId, true);
+                } else {
+                    decrements.put(articleId, amount);
+                }
+            });
+        }
+        if (!decrements.isEmpty()) {
+            synchronized (writeLock) {
+                Map<ArticleKey, Integer> before = new LinkedHashMap<>();
+                synchronized (pending) {
+                    decrements.keySet().forEach(articleId -> {
+                        ArticleKey key = new ArticleKey(branchId, articleId);
+                        Integer increment = pending.remove(key);
+                        if (increment != null) {
+                            before.put(key, increment);
+                        }
+                    });
+                }
+                write(before);
+                result.putAll(delegate.changeReserved(branchId, decrements));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<WarehouseEntity<Article>> getLowStock() {
+        flush();
+        return delegate.getLowStock();
+    }
+
+    /**
+     * Writes all pending increments.
+     */
+    public void flush() {
+        synchronized (writeLock) {
+            write(drain());
+        }
+    }
+
+    /**
+     * Writes the pending increments and stops collecting, later increments are written immediately.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            synchronized (pending) {
+                LOG.error("Failed to write pending reservation increments {}: {}", pending, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Removes all pending increments.
+     *
+     * @return Removed increments.
+     */
+    private Map<ArticleKey, Integer> drain() {
+        synchronized (pending) {
+            Map<ArticleKey, Integer> drained = new LinkedHashMap<>(pending);
+            pending.clear();
+            return drained;
+        }
+    }
+
+    /**
+     * Writes increments, one batch per branch. If a batch fails, its increments and those of the remaining branches
+     * are pending again.
+     *
+     * @param increments Increments per article.
+     */
+    private void write(final Map<ArticleKey, Integer> increments) {
+        Map<Long, Map<Long, Integer>> branches = new LinkedHashMap<>();
+        increments.forEach((key, amount) -> {
+            if (amount != 0) {
+                branches.computeIfAbsent(key.branchId(), b -> new LinkedHashMap<>()).put(key.articleId(), amount);
+            }
+        });
+        Iterator<Map.Entry<Long, Map<Long, Integer>>> iterator = branches.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Map<Long, Integer>> branch = iterator.next();
+            final long branchId = branch.getKey();
+            final Map<Long, Integer> amounts = branch.getValue();
+            try {
+                delegate.changeReserved(branchId, amounts).forEach((articleId, written) -> {
+                    if (!written) {
+                        LOG.warn("Failed to write reservation increment of {} for article {} from branch {}",
+                                amounts.get(articleId), articleId, branchId);
+                    }
+                });
+                iterator.remove();
+            } catch (RuntimeException e) {
+                synchronized (pending) {
+                    branches.forEach((b, a) -> a.forEach((articleId, amount) ->
+                            pending.merge(new ArticleKey(b, articleId), amount, Integer::sum)));
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes the pending increments, failures are logged so the scheduled flush keeps running.
+     */
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to write pending increments: {}", e.getMessage());
+        }
+    }
+}
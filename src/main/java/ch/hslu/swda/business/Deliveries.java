@@ -39,11 +39,11 @@ public interface Deliveries {
     List<WarehouseEntity<Delivery>> getAllByStatus(DeliveryStatus status);
 
     /**
-     * Adds a delivery for the branch.
+     * Adds a delivery for the branch if it does not exist yet.
      *
      * @param branchId ID of the branch.
      * @param delivery Delivery.
-     * @return Delivery.
+     * @return The given delivery if it was added, otherwise the existing delivery.
      */
     Delivery create(long branchId, Delivery delivery);
 
@@ -70,10 +70,9 @@ public final class DeliveriesDB implements Deliveries {
     @Override
     public Delivery create(long branchId, Delivery delivery) {
         Bson filter = Filters.and(Filters.eq("branchId", branchId), Filters.eq("orderNumber", delivery.orderNumber()));
-        Document exists = this.db.collection().find(filter).first();
+        WarehouseEntity<Delivery> warehouseEntity = new WarehouseEntity<>(branchId, delivery);
+        Document exists = this.db.insertIfAbsent(filter, warehouseEntity.toDocument());
         if (exists == null) {
-            WarehouseEntity<Delivery> warehouseEntity = new WarehouseEntity<>(branchId, delivery);
-            this.db.collection().insertOne(warehouseEntity.toDocument());
             LOG.info("DB: created delivery for branch {} with id {}", branchId, delivery.orderNumber());
         } else {
             LOG.warn("DB: delivery {} already exists for branch {}", delivery.orderNumber(), branchId);
@@ -0,0 +1,163 @@
+package ch.hslu.swda.business;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates and verifies the indexes of the warehouse collections.
+ * <p>
+ * The natural keys of the articles, deliveries and reorders get unique compound indexes, which also serve the
+ * queries by branch. The status queries of the scheduled processing get secondary indexes. Creating an existing index
+ * does nothing, so the indexes are ensured on every start.
+ */
+public final class IndexManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexManager.class);
+
+    /**
+     * Index of a collection.
+     *
+     * @param collection Name of the collection.
+     * @param name       Name of the index.
+     * @param keys       Indexed fields.
+     * @param unique     True if the indexed fields are unique.
+     */
+    record IndexDefinition(String collection, String name, Bson keys, boolean unique) {
+    }
+
+    static final List<IndexDefinition> INDEXES = List.of(
+            new IndexDefinition(ProductCatalogDB.COLLECTION, "branchId_articleId",
+                    Indexes.ascending("branchId", "articleId"), true),
+            new IndexDefinition(DeliveriesDB.COLLECTION, "branchId_orderNumber",
+                    Indexes.ascending("branchId", "orderNumber"), true),
+            new IndexDefinition(DeliveriesDB.COLLECTION, "status",
+                    Indexes.ascending("status"), false),
+            new IndexDefinition(DeliveriesDB.COLLECTION, "branchId_status",
+                    Indexes.ascending("branchId", "status"), false),
+            new IndexDefinition(ReordersDB.COLLECTION, "branchId_reorderId",
+                    Indexes.ascending("branchId", "reorderId"), true),
+            new IndexDefinition(ReordersDB.COLLECTION, "status",
+                    Indexes.ascending("status"), false),
+            new IndexDefinition(ReordersDB.COLLECTION, "branchId_status",
+                    Indexes.ascending("branchId", "status"), false),
+            new IndexDefinition(ReordersDB.COLLECTION, "branchId_articleId",
+                    Indexes.ascending("branchId", "articleId"), false)
+    );
+
+    private final MongoDBConnector db;
+
+    /**
+     * Constructor, the connector is owned and closed by the caller.
+     *
+     * @param connector MongoDB connector.
+     */
+    public IndexManager(final MongoDBConnector connector) {
+        db = connector;
+    }
+
+    /**
+     * Creates the missing indexes and verifies them afterwards.
+     * <p>
+     * An index that can not be created, e.g. because the collection contains duplicate natural keys or an index with
+     * the same name but different fields exists, is reported and does not stop the creation of the others.
+     *
+     * @return Missing indexes as collection.name, empty if all indexes exist.
+     */
+    public List<String> ensureIndexes() {
+        for (IndexDefinition index : INDEXES) {
+            try {
+                db.collection(index.collection()).createIndex(index.keys(),
+                        new IndexOptions().name(index.name()).unique(index.unique()));
+            } catch (MongoException e) {
+                LOG.error("DB: failed to create index {} on {}: {}", index.name(), index.collection(),
+                        e.getMessage());
+            }
+        }
+        return verify();
+    }
+
+    /**
+     * Verifies that all indexes exist with their fields and uniqueness. An index with the same name but a different
+     * definition counts as missing.
+     *
+     * @return Missing indexes as collection.name, empty if all indexes exist.
+     */
+    public List<String> verify() {
+        List<String> missing = new ArrayList<>();
+        for (IndexDefinition index : INDEXES) {
+            MongoCollection<Document> collection = db.collection(index.collection());
+            Map<String, Document> existing = new HashMap<>();
+            collection.listIndexes().forEach(d -> existing.put(d.getString("name"), d));
+            Document found = existing.get(index.name());
+            if (found == null) {
+                missing.add(index.collection() + "." + index.name());
+            } else if (!matches(index, found)) {
+                LOG.warn("DB: index {} on {} differs from its definition: {}", index.name(), index.collection(),
+                        found.toJson());
+                missing.add(index.collection() + "." + index.name());
+            }
+        }
+        if (missing.isEmpty()) {
+            LOG.info("DB: all {} indexes exist", INDEXES.size());
+        } else {
+            LOG.warn("DB: missing indexes {}, queries on these fields scan the whole collection", missing);
+        }
+        return missing;
+    }
+
+    /**
+     * Checks if an existing index has the fields, in the same order and direction, and the uniqueness of its
+     * definition.
+     *
+     * @param index    Index definition.
+     * @param existing Existing index as listed by the database.
+     * @return True if the existing index matches the definition.
+     */
+    private static boolean matches(final IndexDefinition index, final Document existing) {
+        if (existing.getBoolean("unique", false) != index.unique()) {
+            return false;
+        }
+        Document key = existing.get("key", Document.class);
+        if (key == null) {
+            return false;
+        }
+        List<Map.Entry<String, BsonValue>> actual = new ArrayList<>(key.toBsonDocument().entrySet());
+        List<Map.Entry<String, BsonValue>> expected = new ArrayList<>(index.keys().toBsonDocument().entrySet());
+        if (actual.size() != expected.size()) {
+            return false;
+        }
+        for (int i = 0; i < actual.size(); i++) {
+            if (!actual.get(i).getKey().equals(expected.get(i).getKey())
+                    || !sameDirection(actual.get(i).getValue(), expected.get(i).getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares the direction of an indexed field, the database may list 1 as a double.
+     *
+     * @param actual   Existing direction.
+     * @param expected Defined direction.
+     * @return True if the directions are equal.
+     */
+    private static boolean sameDirection(final BsonValue actual, final BsonValue expected) {
+        if (actual.isNumber() && expected.isNumber()) {
+            return actual.asNumber().doubleValue() == expected.asNumber().doubleValue();
+        }
+        return actual.equals(expected);
+    }
+}
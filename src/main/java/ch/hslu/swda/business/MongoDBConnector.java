@@ -1,15 +1,23 @@
 package ch.hslu.swda.business;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Updates;
 import org.bson.Document;
+import org.bson.conversions.Bson;
 
 /**
  * MongoDB connector for the warehouse.
  */
-public final class MongoDBConnector {
+public final class MongoDBConnector implements AutoCloseable {
 
     private static final String DATABASE = "warehouse";
 
@@ -47,7 +55,11 @@ public final class MongoDBConnector {
             connectionURI += host;
         }
 
-        this.client = MongoClients.create(connectionURI);
+        MongoClientSettings settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionURI))
+                .addCommandListener(MongoLatencyMonitor.getInstance())
+                .build();
+        this.client = MongoClients.create(settings);
         this.database = this.client.getDatabase(DATABASE);
         this.collection = this.database.getCollection(collection);
     }
@@ -58,4 +70,45 @@ public final class MongoDBConnector {
     public MongoCollection<Document> collection() {
         return collection;
     }
+
+    /**
+     * Returns another MongoDB collection of the warehouse database, using the same client.
+     *
+     * @param name Name of the collection.
+     */
+    public MongoCollection<Document> collection(final String name) {
+        return database.getCollection(name);
+    }
+
+    /**
+     * Inserts a document into the collection unless a document matching the filter exists, in one round-trip.
+     * <p>
+     * The filter fields should be backed by a unique index, so a concurrent insert of the same document is rejected
+     * and the document inserted by the other writer is returned.
+     *
+     * @param filter   Filter identifying the document.
+     * @param document Document to insert.
+     * @return Existing document, or null if the document was inserted.
+     */
+    public Document insertIfAbsent(final Bson filter, final Document document) {
+        FindOneAndUpdateOptions options = new FindOneAndUpdateOptions()
+                .upsert(true)
+                .returnDocument(ReturnDocument.BEFORE);
+        try {
+            return collection.findOneAndUpdate(filter, Updates.setOnInsert(document), options);
+        } catch (MongoCommandException e) {
+            if (ErrorCategory.fromErrorCode(e.getErrorCode()) != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            return collection.find(filter).first();
+        }
+    }
+
+    /**
+     * Closes the client of the connector.
+     */
+    @Override
+    public void close() {
+        client.close();
+    }
 }
@@ -0,0 +1,68 @@
+package ch.hslu.swda.business;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the latency of the MongoDB commands of all repositories.
+ * <p>
+ * The monitor is registered on every MongoDB client and sums up the command durations. Reading the average resets
+ * the measurement, so each reading covers the commands since the previous one.
+ */
+public final class MongoLatencyMonitor implements CommandListener {
+
+    private static final MongoLatencyMonitor INSTANCE = new MongoLatencyMonitor();
+
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+
+    /**
+     * Constructor.
+     */
+    MongoLatencyMonitor() {
+    }
+
+    /**
+     * Returns the latency monitor of the process.
+     *
+     * @return Latency monitor.
+     */
+    public static MongoLatencyMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void commandSucceeded(final CommandSucceededEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(final CommandFailedEvent event) {
+        record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Returns the average command latency since the last call and resets the measurement.
+     *
+     * @return Average latency in milliseconds, NaN if no command was executed.
+     */
+    public double takeAverageMillis() {
+        long count = commands.sumThenReset();
+        long nanos = totalNanos.sumThenReset();
+        return count > 0 ? nanos / 1_000_000.0 / count : Double.NaN;
+    }
+
+    /**
+     * Records the duration of a command.
+     *
+     * @param nanos Duration in nanoseconds.
+     */
+    private void record(final long nanos) {
+        totalNanos.add(nanos);
+        commands.increment();
+    }
+}
@@ -0,0 +1,42 @@
+package ch.hslu.swda.business;
+
+import ch.hslu.swda.entities.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Management of the messages waiting to be published.
+ */
+public interface Outbox {
+
+    /**
+     * Adds a message to the outbox.
+     *
+     * @param route   Route of the message.
+     * @param payload Serialized message.
+     */
+    void add(String route, String payload);
+
+    /**
+     * Returns the oldest messages of the outbox.
+     *
+     * @param limit Maximum number of messages.
+     * @return List of messages in the order they were added.
+     */
+    List<OutboxMessage> getPending(int limit);
+
+    /**
+     * Removes published messages from the outbox.
+     *
+     * @param ids IDs of the messages.
+     */
+    void remove(List<String> ids);
+
+    /**
+     * Removes the oldest messages beyond the maximum size of the outbox.
+     *
+     * @param maxSize Maximum number of messages.
+     * @return Number of removed messages.
+     */
+    long trim(long maxSize);
+}
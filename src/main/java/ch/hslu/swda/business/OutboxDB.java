@@ -0,0 +1,87 @@
+package ch.hslu.swda.business;
+
+import ch.hslu.swda.entities.OutboxMessage;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.result.DeleteResult;
+import jakarta.inject.Singleton;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the outbox using MongoDB.
+ * <p>
+ * The document IDs are generated in ascending order, so sorting by ID returns the messages in the order they were
+ * added. A TTL index removes the messages that could not be published within the retention, e.g. during a long outage
+ * of the broker.
+ */
+@Singleton
+public final class OutboxDB implements Outbox {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Outbox.class);
+    public static final String COLLECTION = "outbox";
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private final MongoDBConnector db;
+
+    /**
+     * Constructor with configuration from the environment variables.
+     */
+    public OutboxDB() {
+        this(new MongoDBConnector(COLLECTION));
+    }
+
+    /**
+     * Constructor with custom configuration.
+     */
+    public OutboxDB(final MongoDBConnector connector) {
+        db = connector;
+        db.collection().createIndex(Indexes.ascending("createdAt"),
+                new IndexOptions().expireAfter(RETENTION.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Override
+    public void add(final String route, final String payload) {
+        this.db.collection().insertOne(new OutboxMessage(null, route, payload).toDocument());
+        LOG.debug("DB: added message with routing '{}' to outbox", route);
+    }
+
+    @Override
+    public List<OutboxMessage> getPending(final int limit) {
+        return this.db.collection().find().sort(Sorts.ascending("_id")).limit(limit).into(new ArrayList<>())
+                .stream().map(OutboxMessage::new).toList();
+    }
+
+    @Override
+    public void remove(final List<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        DeleteResult result = this.db.collection().deleteMany(
+                Filters.in("_id", ids.stream().map(ObjectId::new).toList()));
+        LOG.debug("DB: removed {} published messages from outbox", result.getDeletedCount());
+    }
+
+    @Override
+    public long trim(final long maxSize) {
+        long excess = this.db.collection().estimatedDocumentCount() - maxSize;
+        if (excess <= 0) {
+            return 0;
+        }
+        List<ObjectId> oldest = this.db.collection().find().projection(Projections.include("_id"))
+                .sort(Sorts.ascending("_id")).limit((int) Math.min(excess, Integer.MAX_VALUE)).into(new ArrayList<>())
+                .stream().map(document -> document.getObjectId("_id")).toList();
+        long removed = this.db.collection().deleteMany(Filters.in("_id", oldest)).getDeletedCount();
+        LOG.warn("DB: outbox exceeded {} messages, removed the {} oldest", maxSize, removed);
+        return removed;
+    }
+}
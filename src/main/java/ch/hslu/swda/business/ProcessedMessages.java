@@ -0,0 +1,22 @@
+package ch.hslu.swda.business;
+
+/**
+ * Management of the processed messages, used to recognize redelivered messages.
+ */
+public interface ProcessedMessages {
+
+    /**
+     * Checks if a message was processed.
+     *
+     * @param messageId ID of the message.
+     * @return True if the message was processed.
+     */
+    boolean contains(String messageId);
+
+    /**
+     * Records that a message was processed.
+     *
+     * @param messageId ID of the message.
+     */
+    void add(String messageId);
+}
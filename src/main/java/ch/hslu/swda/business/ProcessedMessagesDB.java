@@ -0,0 +1,63 @@
+package ch.hslu.swda.business;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import jakarta.inject.Singleton;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the processed messages using MongoDB.
+ * <p>
+ * The message id is the document id, a TTL index removes the documents once a redelivery is no longer expected.
+ */
+@Singleton
+public final class ProcessedMessagesDB implements ProcessedMessages {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessedMessages.class);
+    public static final String COLLECTION = "processed_messages";
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private final MongoDBConnector db;
+
+    /**
+     * Constructor with configuration from the environment variables.
+     */
+    public ProcessedMessagesDB() {
+        this(new MongoDBConnector(COLLECTION));
+    }
+
+    /**
+     * Constructor with custom configuration.
+     */
+    public ProcessedMessagesDB(final MongoDBConnector connector) {
+        db = connector;
+        db.collection().createIndex(Indexes.ascending("processedAt"),
+                new IndexOptions().expireAfter(RETENTION.toSeconds(), TimeUnit.SECONDS));
+    }
+
+    @Override
+    public boolean contains(final String messageId) {
+        return this.db.collection().find(Filters.eq("_id", messageId)).first() != null;
+    }
+
+    @Override
+    public void add(final String messageId) {
+        try {
+            this.db.collection().insertOne(new Document("_id", messageId).append("processedAt", new Date()));
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            LOG.debug("DB: message {} was already recorded as processed", messageId);
+        }
+    }
+}
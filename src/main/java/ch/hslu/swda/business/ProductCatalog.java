@@ -4,6 +4,7 @@ import ch.hslu.swda.entities.Article;
 import ch.hslu.swda.entities.WarehouseEntity;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -88,6 +89,32 @@ public interface ProductCatalog {
      */
     boolean changeReserved(long branchId, long articleId, int amount);
 
+    /**
+     * Changes the stocked items of several articles by the specified amounts.
+     *
+     * @param branchId ID of the branch.
+     * @param amounts  Amounts to change the stocked items by, per article ID.
+     * @return Per article ID, true if successful, false if not.
+     */
+    default Map<Long, Boolean> changeStock(final long branchId, final Map<Long, Integer> amounts) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        amounts.forEach((articleId, amount) -> result.put(articleId, changeStock(branchId, articleId, amount)));
+        return result;
+    }
+
+    /**
+     * Changes the reserved items of several articles by the specified amounts.
+     *
+     * @param branchId ID of the branch.
+     * @param amounts  Amounts to change the reserved items by, per article ID.
+     * @return Per article ID, true if successful, false if not.
+     */
+    default Map<Long, Boolean> changeReserved(final long branchId, final Map<Long, Integer> amounts) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        amounts.forEach((articleId, amount) -> result.put(articleId, changeReserved(branchId, articleId, amount)));
+        return result;
+    }
+
     /**
      * Returns all articles with low stock from all branches.
      *
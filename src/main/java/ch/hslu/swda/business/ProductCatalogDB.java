@@ -2,10 +2,15 @@ package ch.hslu.swda.business;
 
 import ch.hslu.swda.entities.Article;
 import ch.hslu.swda.entities.WarehouseEntity;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import jakarta.inject.Singleton;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -14,8 +19,12 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -70,10 +79,9 @@ public final class ProductCatalogDB implements ProductCatalog {
     @Override
     public Article create(long branchId, Article article) {
         Bson filter = Filters.and(Filters.eq("branchId", branchId), Filters.eq("articleId", article.articleId()));
-        Document exists = this.db.collection().find(filter).first();
+        WarehouseEntity<Article> warehouseEntity = new WarehouseEntity<>(branchId, article);
+        Document exists = this.db.insertIfAbsent(filter, warehouseEntity.toDocument());
         if (exists == null) {
-            WarehouseEntity<Article> warehouseEntity = new WarehouseEntity<>(branchId, article);
-            this.db.collection().insertOne(warehouseEntity.toDocument());
             LOG.info("DB: created article for branch {} with id {}", branchId, article.articleId());
         } else {
             LOG.warn("DB: article {} already exists for branch {}", article.articleId(), branchId);
@@ -114,6 +122,16 @@ public final class ProductCatalogDB implements ProductCatalog {
         return incrementField("reserved", branchId, articleId, amount);
     }
 
+    @Override
+    public Map<Long, Boolean> changeStock(long branchId, Map<Long, Integer> amounts) {
+        return incrementFields("stock", branchId, amounts);
+    }
+
+    @Override
+    public Map<Long, Boolean> changeReserved(long branchId, Map<Long, Integer> amounts) {
+        return incrementFields("reserved", branchId, amounts);
+    }
+
     @Override
     public List<WarehouseEntity<Article>> getLowStock() {
         String expression = "{ $lt: [ { $subtract: ['$stock', '$reserved'] }, '$minStock' ] }";
@@ -142,4 +160,67 @@ public final class ProductCatalogDB implements ProductCatalog {
                 result == 1 ? "" : "not ", field, branchId, articleId);
         return result == 1;
     }
+
+    /**
+     * Increments the specified field of several articles by the given amounts.
+     * <p>
+     * All amounts are applied with one unordered bulk write. Like a single increment, a negative amount is only
+     * applied if the field does not drop below zero, guarded by its filter. A bulk write result only counts the
+     * matched updates, and after the write a failed guard can not be told from a decrement that left less than its
+     * amount, so the current values of the decremented articles are read first and the decrements that would fail
+     * are not written. If not all updates matched, e.g. an article is missing or was changed in between, the articles
+     * are read back: an increment was applied if its article exists, a decrement if the field changed by its amount.
+     *
+     * @param field    Name of the field to increment.
+     * @param branchId ID of the branch.
+     * @param amounts  Amounts to increment, per article ID.
+     * @return Per article ID, true if successful, false if not.
+     */
+    private Map<Long, Boolean> incrementFields(String field, long branchId, Map<Long, Integer> amounts) {
+        Map<Long, Integer> before = new HashMap<>();
+        List<Long> decrements = amounts.entrySet().stream().filter(e -> e.getValue() < 0).map(Map.Entry::getKey)
+                .toList();
+        if (!decrements.isEmpty()) {
+            Bson filter = Filters.and(Filters.eq("branchId", branchId), Filters.in("articleId", decrements));
+            this.db.collection().find(filter).projection(Projections.include("articleId", field))
+                    .forEach(d -> before.put(d.getLong("articleId"), d.getInteger(field)));
+        }
+
+        Map<Long, Integer> written = new LinkedHashMap<>();
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        amounts.forEach((articleId, amount) -> {
+            Bson filter = Filters.and(Filters.eq("branchId", branchId), Filters.eq("articleId", articleId));
+            if (amount < 0) {
+                Integer value = before.get(articleId);
+                if (value == null || value < Math.abs(amount)) {
+                    return;
+                }
+                filter = Filters.and(filter, Filters.gte(field, Math.abs(amount)));
+            }
+            updates.add(new UpdateOneModel<>(filter, Updates.inc(field, amount)));
+            written.put(articleId, amount);
+        });
+        Set<Long> applied = new HashSet<>(written.keySet());
+        if (!updates.isEmpty()) {
+            BulkWriteResult result = this.db.collection().bulkWrite(updates, new BulkWriteOptions().ordered(false));
+            if (result.getMatchedCount() < updates.size()) {
+                applied.clear();
+                Bson filter = Filters.and(Filters.eq("branchId", branchId),
+                        Filters.in("articleId", written.keySet()));
+                this.db.collection().find(filter).projection(Projections.include("articleId", field)).forEach(d -> {
+                    long articleId = d.getLong("articleId");
+                    int amount = written.get(articleId);
+                    if (amount >= 0 || d.getInteger(field) == before.get(articleId) + amount) {
+                        applied.add(articleId);
+                    }
+                });
+            }
+        }
+
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        amounts.keySet().forEach(articleId -> result.put(articleId, applied.contains(articleId)));
+        LOG.info("DB: updated {} items of {} of {} articles from branch {}",
+                field, result.values().stream().filter(Boolean::booleanValue).count(), amounts.size(), branchId);
+        return result;
+    }
 }
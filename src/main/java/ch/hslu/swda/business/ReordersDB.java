@@ -24,8 +24,10 @@ public final class ReordersDB implements Reorders {
 
     private static final Logger LOG = LoggerFactory.getLogger(Reorders.class);
     public static final String COLLECTION = "reorders";
+    private static final int ID_BLOCK_SIZE = 50;
 
     private final MongoDBConnector db;
+    private final SequenceAllocator reorderIds;
 
     /**
      * Constructor with configuration from the environment variables.
@@ -39,6 +41,8 @@ public final class ReordersDB implements Reorders {
      */
     public ReordersDB(final MongoDBConnector connector) {
         db = connector;
+        reorderIds = new SequenceAllocator(connector.collection(SequenceAllocator.COLLECTION), COLLECTION,
+                ID_BLOCK_SIZE, this::getHighestReorderId);
     }
 
     @Override
@@ -71,12 +75,7 @@ public final class ReordersDB implements Reorders {
 
     @Override
     public Reorder create(long branchId, long articleId, int quantity) {
-        Document lastDocument = this.db.collection().find().sort(Sorts.descending("reorderId")).limit(1).first();
-        long newReorderId = 1L;
-        if (lastDocument != null) {
-            newReorderId = new Reorder(lastDocument).reorderId() + 1;
-        }
-
+        long newReorderId = reorderIds.next();
         Reorder reorder = new Reorder(newReorderId, ReorderStatus.NEW, "", articleId, quantity);
         WarehouseEntity<Reorder> warehouseEntity = new WarehouseEntity<>(branchId, reorder);
         this.db.collection().insertOne(warehouseEntity.toDocument());
@@ -130,4 +129,14 @@ public final class ReordersDB implements Reorders {
         LOG.info("DB: number of reordered articles from branch {} with id {}: {}", branchId, articleId, count);
         return count;
     }
+
+    /**
+     * Returns the highest existing reorder ID, used to seed the reorder ID sequence.
+     *
+     * @return Highest reorder ID, 0 if there are no reorders.
+     */
+    private long getHighestReorderId() {
+        Document lastDocument = this.db.collection().find().sort(Sorts.descending("reorderId")).limit(1).first();
+        return lastDocument != null ? new Reorder(lastDocument).reorderId() : 0L;
+    }
 }
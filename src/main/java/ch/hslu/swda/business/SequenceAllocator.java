@@ -0,0 +1,102 @@
+package ch.hslu.swda.business;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Allocates unique, increasing IDs from a counter in the counters collection.
+ * <p>
+ * The counter is incremented atomically by a whole block of IDs, which are then handed out from memory, so most
+ * allocations need no database round-trip and concurrent allocators, also in other processes, never get the same
+ * ID. The unused IDs of a block are lost when the process stops. On first use the counter is seeded with the highest
+ * existing ID.
+ */
+public final class SequenceAllocator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SequenceAllocator.class);
+    public static final String COLLECTION = "counters";
+    private static final String VALUE = "value";
+
+    private final MongoCollection<Document> counters;
+    private final String name;
+    private final int blockSize;
+    private final LongSupplier seed;
+    private boolean seeded;
+    private long next = 1;
+    private long last;
+
+    /**
+     * Constructor.
+     *
+     * @param counters  Counters collection.
+     * @param name      Name of the counter.
+     * @param blockSize Number of IDs reserved at once.
+     * @param seed      Returns the highest existing ID, used if the counter does not exist yet.
+     */
+    public SequenceAllocator(final MongoCollection<Document> counters, final String name, final int blockSize,
+                             final LongSupplier seed) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize should not be lower than 1");
+        }
+        this.counters = counters;
+        this.name = name;
+        this.blockSize = blockSize;
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the next ID, reserves a new block if the current one is used up.
+     *
+     * @return ID.
+     */
+    public synchronized long next() {
+        if (next > last) {
+            reserve();
+        }
+        return next++;
+    }
+
+    /**
+     * Reserves the next block of IDs.
+     */
+    private void reserve() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        Document counter = counters.findOneAndUpdate(Filters.eq("_id", name), Updates.inc(VALUE, (long) blockSize),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        last = counter.getLong(VALUE);
+        next = last - blockSize + 1;
+        LOG.info("DB: reserved IDs {} to {} of sequence {}", next, last, name);
+    }
+
+    /**
+     * Creates the counter with the highest existing ID, if it does not exist yet.
+     */
+    private void seed() {
+        if (counters.find(Filters.eq("_id", name)).first() != null) {
+            return;
+        }
+        try {
+            counters.updateOne(Filters.eq("_id", name), Updates.setOnInsert(VALUE, seed.getAsLong()),
+                    new UpdateOptions().upsert(true));
+        } catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            // created concurrently by another allocator
+        }
+    }
+}
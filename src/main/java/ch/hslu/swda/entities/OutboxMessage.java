@@ -0,0 +1,50 @@
+package ch.hslu.swda.entities;
+
+import com.mongodb.lang.Nullable;
+import org.bson.Document;
+
+import java.util.Date;
+
+/**
+ * A message in the outbox waiting to be published.
+ *
+ * @param id      ID of the message, null if not stored yet.
+ * @param route   Route of the message.
+ * @param payload Serialized message.
+ */
+public record OutboxMessage(@Nullable String id, String route, String payload) implements Entity<OutboxMessage> {
+    public OutboxMessage {
+        if (route == null || route.isBlank()) {
+            throw new IllegalArgumentException("route should not be blank");
+        }
+        if (payload == null) {
+            throw new IllegalArgumentException("payload should not be null");
+        }
+    }
+
+    /**
+     * Creates an outbox message from a MongoDB document.
+     *
+     * @param document MongoDB document.
+     */
+    public OutboxMessage(final Document document) {
+        this(
+                document.getObjectId("_id").toHexString(),
+                document.getString("route"),
+                document.getString("payload")
+        );
+    }
+
+    /**
+     * Creates a MongoDB document from an outbox message, the ID is assigned by MongoDB.
+     *
+     * @return MongoDB document.
+     */
+    @Override
+    public Document toDocument() {
+        return new Document()
+                .append("route", route)
+                .append("payload", payload)
+                .append("createdAt", new Date());
+    }
+}
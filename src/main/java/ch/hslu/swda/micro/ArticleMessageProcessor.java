@@ -5,12 +5,10 @@ import ch.hslu.swda.dto.ArticleOrderDTO;
 import ch.hslu.swda.dto.ArticleGetDTO;
 import ch.hslu.swda.dto.OrderDTO;
 import ch.hslu.swda.entities.Article;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -52,10 +50,12 @@ public final class ArticleMessageProcessor implements Runnable {
     /**
      * Queries the articles from the DB and returns the response message.
      *
+     * @param format  Wire format of the message.
      * @param message Received article request message.
+     * @throws IllegalArgumentException If the message can not be parsed, it is moved to the dead-letter queue.
      */
-    private void process(final String message) throws IllegalArgumentException {
-        ArticleGetDTO request = parseMessage(message);
+    private void process(final WireFormat format, final byte[] message) throws IllegalArgumentException {
+        ArticleGetDTO request = parseMessage(format, message);
         if (request != null) {
             List<ArticleOrderDTO> articles = new ArrayList<>();
             List<String> error = new ArrayList<>();
@@ -71,23 +71,23 @@ public final class ArticleMessageProcessor implements Runnable {
             OrderDTO orderDTO = new OrderDTO(request.branchId(), request.orderNumber(), articles, error);
             messagePublisher.sendMessage(Routes.ARTICLE_RETURN, orderDTO);
         } else {
-            LOG.error("Parsing message failed, not sending a response");
+            throw new IllegalArgumentException("parsing article request failed, not sending a response");
         }
     }
 
     /**
      * Parses the article request message.
      *
+     * @param format  Wire format of the message.
      * @param message Article request message.
      * @return Article request.
      */
-    private ArticleGetDTO parseMessage(final String message) {
+    private ArticleGetDTO parseMessage(final WireFormat format, final byte[] message) {
         ArticleGetDTO dto = null;
-        ObjectMapper mapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         try {
-            dto = mapper.readValue(message, ArticleGetDTO.class);
+            dto = MessageSerializers.reader(format, ArticleGetDTO.class).readValue(message);
             LOG.info("Parsed article request message: {}", dto);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             LOG.error("Failed to parse article request message: {}", e.getMessage());
         }
         return dto;
@@ -0,0 +1,59 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.entities.WarehouseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches the work of a scheduled processor per branch.
+ * <p>
+ * The entities of a branch are processed in order by one task, the branches run as separate tasks on the executor
+ * and the dispatcher waits until all branches are processed.
+ */
+final class BranchDispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BranchDispatcher.class);
+
+    private final Executor executor;
+
+    /**
+     * Constructor.
+     *
+     * @param executor Executor running the work of a branch.
+     */
+    BranchDispatcher(final Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Processes the entities grouped by branch and waits until all branches are processed.
+     *
+     * @param entities Entities to process.
+     * @param action   Processing of a single entity.
+     * @param <T>      Entity type.
+     */
+    <T> void forEachBranch(final List<WarehouseEntity<T>> entities, final Consumer<WarehouseEntity<T>> action) {
+        Map<Long, List<WarehouseEntity<T>>> branches = new LinkedHashMap<>();
+        for (WarehouseEntity<T> entity : entities) {
+            branches.computeIfAbsent(entity.branchId(), b -> new ArrayList<>()).add(entity);
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        branches.forEach((branchId, branchEntities) -> tasks.add(
+                CompletableFuture.runAsync(() -> branchEntities.forEach(action), executor)
+                        .exceptionally(e -> {
+                            LOG.error("Processing branch {} failed: {}", branchId, e.getMessage(), e);
+                            return null;
+                        })
+        ));
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+    }
+}
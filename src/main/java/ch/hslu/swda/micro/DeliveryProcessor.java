@@ -8,8 +8,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -25,6 +27,8 @@ public final class DeliveryProcessor implements Runnable {
     private final ProductCatalog catalog;
     private final Deliveries deliveries;
 
+    private final BranchDispatcher dispatcher;
+
     /**
      * Constructor.
      *
@@ -34,9 +38,24 @@ public final class DeliveryProcessor implements Runnable {
      */
     public DeliveryProcessor(final MessagePublisher<LogEventDTO> messagePublisher,
                              final ProductCatalog catalog, final Deliveries deliveries) {
+        this(messagePublisher, catalog, deliveries, Runnable::run);
+    }
+
+    /**
+     * Constructor with an executor processing the deliveries of each branch as a separate task.
+     *
+     * @param messagePublisher Log message publisher.
+     * @param catalog          Product catalog warehouse.
+     * @param deliveries       Deliveries warehouse.
+     * @param branchExecutor   Executor for the work of a branch.
+     */
+    public DeliveryProcessor(final MessagePublisher<LogEventDTO> messagePublisher,
+                             final ProductCatalog catalog, final Deliveries deliveries,
+                             final Executor branchExecutor) {
         this.eventLogger = messagePublisher;
         this.catalog = catalog;
         this.deliveries = deliveries;
+        this.dispatcher = new BranchDispatcher(branchExecutor);
     }
 
     /**
@@ -56,7 +75,7 @@ public final class DeliveryProcessor implements Runnable {
      */
     private void processDelivered() {
         LOG.info("Start processing delivered deliveries");
-        for (WarehouseEntity<Delivery> entity : deliveries.getAllByStatus(DeliveryStatus.DELIVERED)) {
+        dispatcher.forEachBranch(deliveries.getAllByStatus(DeliveryStatus.DELIVERED), entity -> {
             Delivery delivery = (Delivery) entity.entity();
             LOG.info("Processing delivered delivery {} from branch {}", delivery.orderNumber(), entity.branchId());
 
@@ -74,7 +93,7 @@ public final class DeliveryProcessor implements Runnable {
             } else {
                 LOG.warn("Delivery {} from branch {} cannot be delivered", delivery.orderNumber(), entity.branchId());
             }
-        }
+        });
         LOG.info("Finished processing delivered deliveries");
     }
 
@@ -83,10 +102,10 @@ public final class DeliveryProcessor implements Runnable {
      */
     private void processNewAndModified() {
         LOG.info("Start processing new or modified deliveries");
-        Stream.concat(
+        dispatcher.forEachBranch(Stream.concat(
                 deliveries.getAllByStatus(DeliveryStatus.NEW).stream(),
                 deliveries.getAllByStatus(DeliveryStatus.MODIFIED).stream()
-        ).forEach(entity -> {
+        ).toList(), entity -> {
             Delivery delivery = (Delivery) entity.entity();
             LOG.info("Processing delivery {} from branch {}", delivery.orderNumber(), entity.branchId());
 
@@ -109,10 +128,10 @@ public final class DeliveryProcessor implements Runnable {
      */
     private void processWaitingAndReady() {
         LOG.info("Start processing waiting or ready deliveries");
-        Stream.concat(
+        dispatcher.forEachBranch(Stream.concat(
                 deliveries.getAllByStatus(DeliveryStatus.WAITING).stream(),
                 deliveries.getAllByStatus(DeliveryStatus.READY).stream()
-        ).forEach(entity -> {
+        ).toList(), entity -> {
             Delivery delivery = (Delivery) entity.entity();
             LOG.info("Processing delivery {} from branch {}", delivery.orderNumber(), entity.branchId());
 
@@ -138,20 +157,27 @@ public final class DeliveryProcessor implements Runnable {
     }
 
     /**
-     * Processes the delivered articles.
+     * Processes the delivered articles, the stock and the reservations of all articles are changed at once.
      *
      * @param branchId ID of the branch.
      * @param articles Delivery articles to process.
      * @return Processed delivery articles.
      */
     private List<DeliveryArticle> processArticlesDelivered(final long branchId, final List<DeliveryArticle> articles) {
+        Map<Long, Integer> withdrawals = articles.stream()
+                .filter(a -> a.status() == DeliveryArticleStatus.RESERVED)
+                .collect(Collectors.toMap(DeliveryArticle::articleId, a -> -a.quantity(), Integer::sum,
+                        LinkedHashMap::new));
+        Map<Long, Boolean> inStock = catalog.changeStock(branchId, withdrawals);
+        Map<Long, Integer> released = new LinkedHashMap<>(withdrawals);
+        released.keySet().removeIf(articleId -> !inStock.getOrDefault(articleId, false));
+        catalog.changeReserved(branchId, released);
+
         List<DeliveryArticle> deliveredArticles = new ArrayList<>();
         for (DeliveryArticle a : articles) {
             DeliveryArticle updated = a;
             if (a.status() == DeliveryArticleStatus.RESERVED) {
-                boolean inStock = catalog.changeStock(branchId, a.articleId(), -a.quantity());
-                if (inStock) {
-                    catalog.changeReserved(branchId, a.articleId(), -a.quantity());
+                if (released.containsKey(a.articleId())) {
                     updated = new DeliveryArticle(a.articleId(), a.quantity(), DeliveryArticleStatus.DELIVERED);
                 } else {
                     LOG.warn("Not enough items of article {} from branch {} in stock", a.articleId(), branchId);
@@ -163,7 +189,7 @@ public final class DeliveryProcessor implements Runnable {
     }
 
     /**
-     * Processes the articles.
+     * Processes the articles, the reservations of all articles are changed at once.
      *
      * @param branchId ID of the branch.
      * @param articles Delivery articles to process.
@@ -173,6 +199,7 @@ public final class DeliveryProcessor implements Runnable {
         Map<Long, DeliveryArticle> updatedArticles = articles.stream()
                 .filter(a -> a.status() == DeliveryArticleStatus.RESERVED)
                 .collect(Collectors.toMap(DeliveryArticle::articleId, a -> a));
+        Map<Long, Integer> differences = new LinkedHashMap<>();
         articles.stream().filter(a -> a.status() != DeliveryArticleStatus.RESERVED).forEach(a -> {
             int difference = 0;
             if (updatedArticles.containsKey(a.articleId())) {
@@ -190,8 +217,12 @@ public final class DeliveryProcessor implements Runnable {
                 updatedArticles.put(a.articleId(),
                         new DeliveryArticle(a.articleId(), a.quantity(), DeliveryArticleStatus.RESERVED));
             }
-            catalog.changeReserved(branchId, a.articleId(), difference);
+            if (difference != 0) {
+                differences.merge(a.articleId(), difference, Integer::sum);
+            }
         });
+        differences.values().removeIf(difference -> difference == 0);
+        catalog.changeReserved(branchId, differences);
         return updatedArticles.values().stream().toList();
     }
 }
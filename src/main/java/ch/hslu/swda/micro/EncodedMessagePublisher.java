@@ -0,0 +1,29 @@
+package ch.hslu.swda.micro;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publisher of messages that are already serialized.
+ */
+public interface EncodedMessagePublisher {
+
+    /**
+     * Sends serialized messages to the message queue as one burst, the message bodies are sent as they are.
+     *
+     * @param route    Message queue.
+     * @param format   Wire format of the messages.
+     * @param messages Serialized messages.
+     * @return Futures completed when the messages are delivered to the message queue, in the order of the messages.
+     */
+    List<CompletableFuture<Void>> sendEncoded(String route, WireFormat format, List<byte[]> messages);
+
+    /**
+     * Checks if messages can be sent right away, otherwise they would wait for the message queue.
+     *
+     * @return True if the message queue is reachable.
+     */
+    default boolean isAvailable() {
+        return true;
+    }
+}
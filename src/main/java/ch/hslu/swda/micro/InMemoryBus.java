@@ -0,0 +1,351 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.bus.BusConnectionManager;
+import ch.hslu.swda.bus.RabbitMqConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Message bus within the process, used to load test the service without Rabbit MQ.
+ * <p>
+ * Like a topic exchange, a message is routed to every subscription whose pattern matches its route, where * matches
+ * exactly one word and # zero or more words. Every subscription has bounded queues, a full queue blocks the
+ * publisher, so a slow consumer slows down the producers like the prefetch of a broker does. The messages of a
+ * subscription are processed by a configurable number of consumer threads, partitioned subscriptions process the
+ * messages with the same key in order. The injectable latency delays every delivery to simulate the network.
+ */
+public final class InMemoryBus implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryBus.class);
+
+    private static InMemoryBus instance;
+
+    private final int queueCapacity;
+    private final int consumers;
+    private final LongSupplier latencyMillis;
+    private volatile Routing routing = new Routing(List.of());
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder unroutable = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Message in a subscription queue.
+     *
+     * @param route  Route of the message.
+     * @param format Wire format of the message body.
+     * @param body   Message body.
+     */
+    private record Delivery(String route, WireFormat format, byte[] body) {
+    }
+
+    /**
+     * Subscriptions with the targets of the routes published so far. A subscription replaces the routing, so the
+     * cached targets are always computed from the subscriptions they are cached with.
+     *
+     * @param subscriptions Subscriptions.
+     * @param targets       Matching subscriptions per route.
+     */
+    private record Routing(List<Subscription> subscriptions, Map<String, List<Subscription>> targets) {
+
+        /**
+         * Constructor with an empty cache.
+         *
+         * @param subscriptions Subscriptions.
+         */
+        Routing(final List<Subscription> subscriptions) {
+            this(subscriptions, new ConcurrentHashMap<>());
+        }
+
+        /**
+         * Returns the subscriptions matching a route.
+         *
+         * @param route Route.
+         * @return Matching subscriptions.
+         */
+        List<Subscription> targets(final String route) {
+            return targets.computeIfAbsent(route,
+                    r -> subscriptions.stream().filter(s -> matches(s.pattern, r)).toList());
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param queueCapacity Capacity of each subscription queue.
+     * @param consumers     Number of consumer threads per subscription.
+     * @param latencyMillis Returns the latency in milliseconds added to each delivery.
+     */
+    public InMemoryBus(final int queueCapacity, final int consumers, final LongSupplier latencyMillis) {
+        if (queueCapacity < 1 || consumers < 1) {
+            throw new IllegalArgumentException("queueCapacity and consumers should not be lower than 1");
+        }
+        this.queueCapacity = queueCapacity;
+        this.consumers = consumers;
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Returns the in-memory bus of the process, created with the configured settings on first use.
+     *
+     * @return In-memory bus.
+     */
+    public static synchronized InMemoryBus getInstance() {
+        if (instance == null) {
+            RabbitMqConfig config = BusConnectionManager.getInstance().getConfig();
+            final long latency = config.getMemoryLatency();
+            instance = new InMemoryBus(config.getMemoryCapacity(), config.getMemoryConsumers(), () -> latency);
+            LOG.info("Using in-memory bus with {} consumers per route and a latency of {} ms",
+                    config.getMemoryConsumers(), latency);
+        }
+        return instance;
+    }
+
+    /**
+     * Subscribes to the messages of a route.
+     *
+     * @param pattern      Route pattern, may contain the wildcards * and #.
+     * @param partitionKey Extracts the partition key, null to process the messages without ordering.
+     * @param callback     Message processing callback.
+     */
+    public synchronized void subscribe(final String pattern, final BiFunction<WireFormat, byte[], Object> partitionKey,
+                                       final BiConsumer<WireFormat, byte[]> callback) {
+        if (closed) {
+            throw new IllegalStateException("bus is closed");
+        }
+        List<Subscription> subscriptions = new ArrayList<>(routing.subscriptions());
+        subscriptions.add(new Subscription(pattern, partitionKey, callback));
+        routing = new Routing(List.copyOf(subscriptions));
+        LOG.info("Subscribed to messages with routing '{}'{}", pattern, partitionKey != null ? " partitioned" : "");
+    }
+
+    /**
+     * Publishes a message to all matching subscriptions, waits while a queue is full.
+     *
+     * @param route  Route of the message.
+     * @param format Wire format of the message body.
+     * @param body   Message body.
+     * @throws InterruptedException If interrupted while waiting for a queue.
+     */
+    public void publish(final String route, final WireFormat format, final byte[] body) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("bus is closed");
+        }
+        List<Subscription> targets = routing.targets(route);
+        published.increment();
+        if (targets.isEmpty()) {
+            unroutable.increment();
+            return;
+        }
+        Delivery delivery = new Delivery(route, format, body);
+        for (Subscription subscription : targets) {
+            subscription.enqueue(delivery);
+        }
+    }
+
+    /**
+     * Returns the number of published messages.
+     *
+     * @return Number of messages.
+     */
+    public long published() {
+        return published.sum();
+    }
+
+    /**
+     * Returns the number of messages processed by a subscription.
+     *
+     * @return Number of messages.
+     */
+    public long delivered() {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the number of messages whose processing failed.
+     *
+     * @return Number of messages.
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of published messages without a matching subscription.
+     *
+     * @return Number of messages.
+     */
+    public long unroutable() {
+        return unroutable.sum();
+    }
+
+    /**
+     * Returns the number of messages waiting in the subscription queues.
+     *
+     * @return Number of messages.
+     */
+    public int backlog() {
+        return routing.subscriptions().stream().mapToInt(Subscription::backlog).sum();
+    }
+
+    /**
+     * Stops the consumer threads, messages still in the queues are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        routing.subscriptions().forEach(Subscription::stop);
+    }
+
+    /**
+     * Checks if a route matches a pattern of a topic exchange.
+     *
+     * @param pattern Route pattern, may contain the wildcards * and #.
+     * @param route   Route.
+     * @return True if the route matches.
+     */
+    static boolean matches(final String pattern, final String route) {
+        return matches(pattern.split("\\."), 0, route.split("\\."), 0);
+    }
+
+    /**
+     * Checks if the remaining words of a route match the remaining words of a pattern.
+     *
+     * @param pattern Words of the pattern.
+     * @param p       Index of the next pattern word.
+     * @param route   Words of the route.
+     * @param r       Index of the next route word.
+     * @return True if the remaining words match.
+     */
+    private static boolean matches(final String[] pattern, final int p, final String[] route, final int r) {
+        if (p == pattern.length) {
+            return r == route.length;
+        }
+        if ("#".equals(pattern[p])) {
+            for (int skip = r; skip <= route.length; skip++) {
+                if (matches(pattern, p + 1, route, skip)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return r < route.length && ("*".equals(pattern[p]) || pattern[p].equals(route[r]))
+                && matches(pattern, p + 1, route, r + 1);
+    }
+
+    /**
+     * Subscription with its queues and consumer threads.
+     * <p>
+     * Without a partition key all consumers share one queue, with a partition key every consumer has its own queue
+     * selected by the hash of the key.
+     */
+    private final class Subscription {
+
+        private final String pattern;
+        private final BiFunction<WireFormat, byte[], Object> partitionKey;
+        private final BiConsumer<WireFormat, byte[]> callback;
+        private final List<BlockingQueue<Delivery>> queues = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+
+        /**
+         * Constructor, starts the consumer threads.
+         *
+         * @param pattern      Route pattern.
+         * @param partitionKey Extracts the partition key, null to process the messages without ordering.
+         * @param callback     Message processing callback.
+         */
+        Subscription(final String pattern, final BiFunction<WireFormat, byte[], Object> partitionKey,
+                     final BiConsumer<WireFormat, byte[]> callback) {
+            this.pattern = pattern;
+            this.partitionKey = partitionKey;
+            this.callback = callback;
+            final int queueCount = partitionKey != null ? consumers : 1;
+            for (int i = 0; i < queueCount; i++) {
+                queues.add(new ArrayBlockingQueue<>(queueCapacity));
+            }
+            final AtomicInteger count = new AtomicInteger();
+            for (int i = 0; i < consumers; i++) {
+                final BlockingQueue<Delivery> queue = queues.get(i % queueCount);
+                Thread thread = new Thread(() -> consume(queue), "memory-" + pattern + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+        }
+
+        /**
+         * Adds a message to the queue of its partition, waits while the queue is full.
+         *
+         * @param delivery Message.
+         * @throws InterruptedException If interrupted while waiting.
+         */
+        void enqueue(final Delivery delivery) throws InterruptedException {
+            int index = 0;
+            if (partitionKey != null) {
+                try {
+                    Object key = partitionKey.apply(delivery.format(), delivery.body());
+                    index = key != null ? Math.floorMod(key.hashCode(), queues.size()) : 0;
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to extract partition key: {}", e.getMessage());
+                }
+            }
+            queues.get(index).put(delivery);
+        }
+
+        /**
+         * Processes the messages of a queue until the subscription is stopped.
+         *
+         * @param queue Queue.
+         */
+        private void consume(final BlockingQueue<Delivery> queue) {
+            try {
+                while (!closed) {
+                    Delivery delivery = queue.take();
+                    long latency = latencyMillis.getAsLong();
+                    if (latency > 0) {
+                        TimeUnit.MILLISECONDS.sleep(latency);
+                    }
+                    try {
+                        callback.accept(delivery.format(), delivery.body());
+                        delivered.increment();
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                        LOG.warn("Processing message with routing '{}' failed: {}", delivery.route(), e.getMessage());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Returns the number of messages waiting in the queues.
+         *
+         * @return Number of messages.
+         */
+        int backlog() {
+            return queues.stream().mapToInt(BlockingQueue::size).sum();
+        }
+
+        /**
+         * Stops the consumer threads.
+         */
+        void stop() {
+            threads.forEach(Thread::interrupt);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ch.hslu.swda.micro;
 
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * Message listener.
@@ -11,8 +12,22 @@ public interface MessageListener {
      * Receives messages from the message queue.
      *
      * @param route    Message queue.
-     * @param callback Message processing callback.
+     * @param callback Message processing callback, receives the wire format and the raw message body. If it throws an
+     *                 IllegalArgumentException the message is dead-lettered, other exceptions retry it later.
      */
-    void receiveMessages(String route, Consumer<String> callback);
+    void receiveMessages(String route, BiConsumer<WireFormat, byte[]> callback);
 
+    /**
+     * Receives messages from the message queue, messages with the same partition key are processed in order.
+     * <p>
+     * Implementations without parallel processing may ignore the partition key.
+     *
+     * @param route        Message queue.
+     * @param partitionKey Extracts the partition key from the wire format and the raw message body.
+     * @param callback     Message processing callback, see {@link #receiveMessages(String, BiConsumer)}.
+     */
+    default void receiveMessages(final String route, final BiFunction<WireFormat, byte[], Object> partitionKey,
+                                 final BiConsumer<WireFormat, byte[]> callback) {
+        receiveMessages(route, callback);
+    }
 }
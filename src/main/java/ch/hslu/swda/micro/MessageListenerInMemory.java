@@ -0,0 +1,32 @@
+package ch.hslu.swda.micro;
+
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Receives messages from the in-memory bus.
+ */
+public final class MessageListenerInMemory implements MessageListener {
+
+    private final InMemoryBus bus;
+
+    /**
+     * Constructor.
+     *
+     * @param bus In-memory bus.
+     */
+    public MessageListenerInMemory(final InMemoryBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public void receiveMessages(final String route, final BiConsumer<WireFormat, byte[]> callback) {
+        bus.subscribe(route, null, callback);
+    }
+
+    @Override
+    public void receiveMessages(final String route, final BiFunction<WireFormat, byte[], Object> partitionKey,
+                                final BiConsumer<WireFormat, byte[]> callback) {
+        bus.subscribe(route, partitionKey, callback);
+    }
+}
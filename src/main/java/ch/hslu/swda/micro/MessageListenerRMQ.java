@@ -1,13 +1,17 @@
 package ch.hslu.swda.micro;
 
+import ch.hslu.swda.bus.BusConnectionManager;
 import ch.hslu.swda.bus.BusConnector;
+import ch.hslu.swda.bus.PartitionKeyExtractor;
 import ch.hslu.swda.bus.RabbitMqConfig;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.function.Consumer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 /**
  * Receives messages from Rabbit MQ.
@@ -21,23 +25,47 @@ public final class MessageListenerRMQ implements MessageListener {
     private final BusConnector bus;
 
     /**
-     * Constructor.
+     * Constructor, uses the shared consuming connection of the process.
      */
     public MessageListenerRMQ() {
-        this.config = new RabbitMqConfig();
-        this.bus = new BusConnector(config);
-        this.bus.connectWithRetry();
+        this.config = BusConnectionManager.getInstance().getConfig();
+        this.bus = BusConnectionManager.getInstance().consuming();
     }
 
     @Override
-    public void receiveMessages(final String route, final Consumer<String> callback) {
+    public void receiveMessages(final String route, final BiConsumer<WireFormat, byte[]> callback) {
+        listen(route, null, callback);
+    }
+
+    @Override
+    public void receiveMessages(final String route, final BiFunction<WireFormat, byte[], Object> partitionKey,
+                                final BiConsumer<WireFormat, byte[]> callback) {
+        listen(route, (contentType, message) -> partitionKey.apply(WireFormat.fromContentType(contentType), message),
+                callback);
+    }
+
+    /**
+     * Starts listening for messages.
+     *
+     * @param route       Message queue.
+     * @param partitioner Extracts the partition key, null to process the messages without ordering.
+     * @param callback    Message processing callback.
+     */
+    private void listen(final String route, final PartitionKeyExtractor partitioner,
+                        final BiConsumer<WireFormat, byte[]> callback) {
         try {
-            LOG.info("Start listening for messages with routing '{}'", route);
+            LOG.info("Start listening for messages with routing '{}'{}", route,
+                    partitioner != null ? " partitioned" : "");
             bus.listenFor(config.getExchange(), "WarehouseService <- " + route, route,
-                    (String routeReceived, String replyTo, String corrId, String message) -> {
-                        LOG.info("Received message with routing '{}': {}", routeReceived, message);
-                        callback.accept(message);
-                    });
+                    (String routeReceived, String replyTo, String corrId, String contentType, byte[] message) -> {
+                        WireFormat format = WireFormat.fromContentType(contentType);
+                        LOG.info("Received {} message with routing '{}' ({} bytes)", format, routeReceived,
+                                message.length);
+                        if (LOG.isDebugEnabled() && format == WireFormat.JSON) {
+                            LOG.debug("Message content: {}", new String(message, StandardCharsets.UTF_8));
+                        }
+                        callback.accept(format, message);
+                    }, partitioner);
         } catch (IOException e) {
             LOG.error("Failed to receive message with routing '{}': {}", route, e.getMessage());
         }
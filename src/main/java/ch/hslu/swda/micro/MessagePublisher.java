@@ -1,5 +1,7 @@
 package ch.hslu.swda.micro;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Message publisher.
  */
@@ -10,7 +12,8 @@ public interface MessagePublisher<T> {
      *
      * @param route         Message queue.
      * @param messageObject Message object.
+     * @return Future completed when the message is delivered to the message queue.
      */
-    void sendMessage(String route, T messageObject);
+    CompletableFuture<Void> sendMessage(String route, T messageObject);
 
 }
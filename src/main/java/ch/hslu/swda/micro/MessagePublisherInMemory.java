@@ -0,0 +1,79 @@
+package ch.hslu.swda.micro;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends messages to the in-memory bus.
+ * <p>
+ * The messages are serialized like for Rabbit MQ, so the serialization cost is part of a load test.
+ *
+ * @param <T> Message type.
+ */
+public final class MessagePublisherInMemory<T> implements MessagePublisher<T>, EncodedMessagePublisher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessagePublisherInMemory.class);
+
+    private final InMemoryBus bus;
+    private final WireFormat format;
+
+    /**
+     * Constructor.
+     *
+     * @param bus    In-memory bus.
+     * @param format Wire format of the messages.
+     */
+    public MessagePublisherInMemory(final InMemoryBus bus, final WireFormat format) {
+        this.bus = bus;
+        this.format = format;
+    }
+
+    /**
+     * Sends a message object to the in-memory bus, waits while a queue of a subscription is full.
+     *
+     * @param route         Message queue.
+     * @param messageObject Message object.
+     * @return Future completed when the message is in the queues of the subscriptions.
+     */
+    @Override
+    public CompletableFuture<Void> sendMessage(final String route, final T messageObject) {
+        try {
+            bus.publish(route, format, MessageSerializers.writer(format, messageObject.getClass())
+                    .writeValueAsBytes(messageObject));
+            return CompletableFuture.completedFuture(null);
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to serialize message: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } catch (IllegalStateException e) {
+            LOG.error("Failed to send message with routing '{}': {}", route, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> sendEncoded(final String route, final WireFormat messageFormat,
+                                                     final List<byte[]> messages) {
+        List<CompletableFuture<Void>> sent = new ArrayList<>(messages.size());
+        for (byte[] message : messages) {
+            try {
+                bus.publish(route, messageFormat, message);
+                sent.add(CompletableFuture.completedFuture(null));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                sent.add(CompletableFuture.failedFuture(e));
+            } catch (IllegalStateException e) {
+                LOG.error("Failed to send message with routing '{}': {}", route, e.getMessage());
+                sent.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        return sent;
+    }
+}
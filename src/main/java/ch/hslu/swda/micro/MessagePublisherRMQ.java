@@ -1,20 +1,23 @@
 package ch.hslu.swda.micro;
 
+import ch.hslu.swda.bus.BusConnectionManager;
 import ch.hslu.swda.bus.BusConnector;
 import ch.hslu.swda.bus.RabbitMqConfig;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Publishes messages to Rabbit MQ.
  */
 @Singleton
-public final class MessagePublisherRMQ<T> implements MessagePublisher<T> {
+public final class MessagePublisherRMQ<T> implements MessagePublisher<T>, EncodedMessagePublisher {
 
     private static final Logger LOG = LoggerFactory.getLogger(MessagePublisherRMQ.class);
 
@@ -22,24 +25,64 @@ public final class MessagePublisherRMQ<T> implements MessagePublisher<T> {
     private final BusConnector bus;
 
     /**
-     * Constructor.
+     * Constructor, uses the shared publishing connection of the process.
      */
     public MessagePublisherRMQ() {
-        this.config = new RabbitMqConfig();
-        this.bus = new BusConnector(config);
-        this.bus.connectWithRetry();
+        this.config = BusConnectionManager.getInstance().getConfig();
+        this.bus = BusConnectionManager.getInstance().publishing();
     }
 
     @Override
-    public void sendMessage(final String route, final T messageObject) {
+    public CompletableFuture<Void> sendMessage(final String route, final T messageObject) {
+        CompletableFuture<Void> confirmed;
         try {
-            String message = new ObjectMapper().writeValueAsString(messageObject);
-            LOG.info("Sending message with routing '{}': {}", route, message);
-            this.bus.talkAsync(config.getExchange(), route, message);
+            WireFormat format = WireFormat.fromContentType(config.getContentType(route));
+            byte[] message = MessageSerializers.writer(format, messageObject.getClass())
+                    .writeValueAsBytes(messageObject);
+            LOG.info("Sending {} message with routing '{}' ({} bytes)", format, route, message.length);
+            if (LOG.isDebugEnabled() && format == WireFormat.JSON) {
+                LOG.debug("Message content: {}", new String(message, StandardCharsets.UTF_8));
+            }
+            confirmed = this.bus.talkAsync(config.getExchange(), route, message, format.contentType());
+            confirmed.whenComplete((ignored, e) -> {
+                if (e != null) {
+                    LOG.error("Message with routing '{}' not confirmed: {}", route, e.getMessage());
+                }
+            });
         } catch (JsonProcessingException e) {
             LOG.error("Failed to serialize message: {}", e.getMessage());
+            confirmed = CompletableFuture.failedFuture(e);
         } catch (IOException e) {
             LOG.error("Failed to send message: {}", e.getMessage());
+            confirmed = CompletableFuture.failedFuture(e);
         }
+        return confirmed;
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> sendEncoded(final String route, final WireFormat format,
+                                                     final List<byte[]> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        LOG.info("Sending {} {} messages with routing '{}' as one burst", messages.size(), format, route);
+        try {
+            List<CompletableFuture<Void>> published = this.bus.talkAsync(config.getExchange(), route, messages,
+                    format.contentType());
+            published.forEach(future -> future.whenComplete((ignored, e) -> {
+                if (e != null) {
+                    LOG.error("Message with routing '{}' not confirmed: {}", route, e.getMessage());
+                }
+            }));
+            return published;
+        } catch (IOException e) {
+            LOG.error("Failed to send messages: {}", e.getMessage());
+            return messages.stream().map(m -> CompletableFuture.<Void>failedFuture(e)).toList();
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return this.bus.isConnected();
     }
 }
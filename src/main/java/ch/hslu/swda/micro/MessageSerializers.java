@@ -0,0 +1,120 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.dto.ArticleDeliveredDTO;
+import ch.hslu.swda.dto.ArticleGetDTO;
+import ch.hslu.swda.dto.LogEventDTO;
+import ch.hslu.swda.dto.OrderDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the readers and writers used to (de)serialize the message DTOs.
+ * <p>
+ * Building an object mapper and introspecting a type is expensive, so the readers and writers are created once per
+ * wire format and type and shared. They are immutable and thread-safe. If the environment variable JACKSON_BLACKBIRD
+ * is set to true, the Blackbird module replaces the reflective property access with generated lambdas.
+ */
+public final class MessageSerializers {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageSerializers.class);
+    private static final String BLACKBIRD_ENV = "JACKSON_BLACKBIRD";
+    private static final List<Class<?>> MESSAGE_TYPES = List.of(
+            OrderDTO.class, ArticleGetDTO.class, LogEventDTO.class, ArticleDeliveredDTO.class);
+
+    private static final Map<WireFormat, ObjectMapper> MAPPERS = new EnumMap<>(WireFormat.class);
+    private static final Map<WireFormat, Map<Class<?>, ObjectReader>> READERS = new EnumMap<>(WireFormat.class);
+    private static final Map<WireFormat, Map<Class<?>, ObjectWriter>> WRITERS = new EnumMap<>(WireFormat.class);
+
+    static {
+        final boolean blackbird = Boolean.parseBoolean(System.getenv().getOrDefault(BLACKBIRD_ENV, "false"));
+        if (blackbird) {
+            LOG.info("Jackson Blackbird module enabled");
+        }
+        for (WireFormat format : WireFormat.values()) {
+            ObjectMapper mapper = createMapper(format, blackbird);
+            Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+            Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+            for (Class<?> type : MESSAGE_TYPES) {
+                readers.put(type, mapper.readerFor(type));
+                writers.put(type, mapper.writerFor(type));
+            }
+            MAPPERS.put(format, mapper);
+            READERS.put(format, readers);
+            WRITERS.put(format, writers);
+        }
+    }
+
+    /**
+     * No instance allowed.
+     */
+    private MessageSerializers() {
+    }
+
+    /**
+     * Returns the JSON reader for a message type.
+     *
+     * @param type Message type.
+     * @return Reader.
+     */
+    public static ObjectReader reader(final Class<?> type) {
+        return reader(WireFormat.JSON, type);
+    }
+
+    /**
+     * Returns the reader for a message type.
+     *
+     * @param format Wire format.
+     * @param type   Message type.
+     * @return Reader.
+     */
+    public static ObjectReader reader(final WireFormat format, final Class<?> type) {
+        return READERS.get(format).computeIfAbsent(type, MAPPERS.get(format)::readerFor);
+    }
+
+    /**
+     * Returns the JSON writer for a message type.
+     *
+     * @param type Message type.
+     * @return Writer.
+     */
+    public static ObjectWriter writer(final Class<?> type) {
+        return writer(WireFormat.JSON, type);
+    }
+
+    /**
+     * Returns the writer for a message type.
+     *
+     * @param format Wire format.
+     * @param type   Message type.
+     * @return Writer.
+     */
+    public static ObjectWriter writer(final WireFormat format, final Class<?> type) {
+        return WRITERS.get(format).computeIfAbsent(type, MAPPERS.get(format)::writerFor);
+    }
+
+    /**
+     * Creates the object mapper of a wire format, unknown properties in received messages are ignored.
+     *
+     * @param format    Wire format.
+     * @param blackbird True to register the Blackbird module.
+     * @return Object mapper.
+     */
+    static ObjectMapper createMapper(final WireFormat format, final boolean blackbird) {
+        ObjectMapper mapper = new ObjectMapper(format.createFactory())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (blackbird) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        return mapper;
+    }
+}
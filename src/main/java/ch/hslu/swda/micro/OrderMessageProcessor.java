@@ -6,12 +6,10 @@ import ch.hslu.swda.entities.Delivery;
 import ch.hslu.swda.entities.DeliveryArticle;
 import ch.hslu.swda.entities.DeliveryArticleStatus;
 import ch.hslu.swda.entities.DeliveryStatus;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,6 +24,15 @@ public final class OrderMessageProcessor implements Runnable {
 
     private final Deliveries deliveries;
 
+    /**
+     * Identifies an order, only these properties are read from the order message to select its partition.
+     *
+     * @param branchId    ID of the branch.
+     * @param orderNumber Order number.
+     */
+    record OrderKey(long branchId, long orderNumber) {
+    }
+
     /**
      * Constructor.
      *
@@ -42,35 +49,64 @@ public final class OrderMessageProcessor implements Runnable {
      */
     @Override
     public void run() {
-        messageListener.receiveMessages(Routes.ORDER, this::process);
+        messageListener.receiveMessages(Routes.ORDER, OrderMessageProcessor::partitionKey, this::process);
+    }
+
+    /**
+     * Returns the partition key of an order message, the updates of an order are processed in order.
+     * <p>
+     * Every order message is parsed here a first time on the dispatching thread of the route, reading only the two
+     * key properties, unless the publisher set the key header. A message without a valid key is dead-lettered.
+     *
+     * @param format  Wire format of the message.
+     * @param message Order message.
+     * @return Branch ID and order number of the order.
+     * @throws IllegalArgumentException If the key can not be parsed.
+     */
+    static OrderKey partitionKey(final WireFormat format, final byte[] message) {
+        try {
+            return MessageSerializers.reader(format, OrderKey.class).readValue(message);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("failed to parse order key: " + e.getMessage(), e);
+        }
     }
 
     /**
      * Registers the delivery for the order message.
      *
+     * @param format  Wire format of the message.
      * @param message Order message.
+     * @throws IllegalArgumentException If the message can not be parsed, it is moved to the dead-letter queue.
      */
-    public void process(final String message) {
-        OrderDTO order = parseMessage(message);
+    public void process(final WireFormat format, final byte[] message) {
+        OrderDTO order = parseMessage(format, message);
         if (order != null) {
             List<DeliveryArticle> deliveryArticles = order.articles().stream()
                     .map(a -> new DeliveryArticle(a.articleId(), a.quantity(),
                             a.action() != null ? a.action() : DeliveryArticleStatus.ADD))
                     .toList();
 
-            Delivery exists = deliveries.getById(order.branchId(), order.orderNumber());
-            if (deliveryArticles.isEmpty() && exists == null) {
-                LOG.info("Not registering empty delivery {} for branch {}", order.orderNumber(), order.branchId());
-            } else if (exists == null) {
-                LOG.info("Registering new delivery {} for branch {}", order.orderNumber(), order.branchId());
-                Delivery delivery = new Delivery(order.orderNumber(), DeliveryStatus.NEW, deliveryArticles);
-                deliveries.create(order.branchId(), delivery);
+            if (deliveryArticles.isEmpty()) {
+                Delivery exists = deliveries.getById(order.branchId(), order.orderNumber());
+                if (exists == null) {
+                    LOG.info("Not registering empty delivery {} for branch {}", order.orderNumber(), order.branchId());
+                } else {
+                    LOG.info("Updating delivery {} for branch {}", order.orderNumber(), order.branchId());
+                    updateDelivery(order.branchId(), exists, deliveryArticles);
+                }
             } else {
-                LOG.info("Updating delivery {} for branch {}", order.orderNumber(), order.branchId());
-                updateDelivery(order.branchId(), exists, deliveryArticles);
+                // created if absent in one step, a concurrently created delivery is returned and updated instead
+                Delivery delivery = new Delivery(order.orderNumber(), DeliveryStatus.NEW, deliveryArticles);
+                Delivery created = deliveries.create(order.branchId(), delivery);
+                if (created == delivery) {
+                    LOG.info("Registered new delivery {} for branch {}", order.orderNumber(), order.branchId());
+                } else {
+                    LOG.info("Updating delivery {} for branch {}", order.orderNumber(), order.branchId());
+                    updateDelivery(order.branchId(), created, deliveryArticles);
+                }
             }
         } else {
-            LOG.error("Not registering new delivery, parsing order failed");
+            throw new IllegalArgumentException("parsing order failed, not registering delivery");
         }
     }
 
@@ -101,17 +137,16 @@ public final class OrderMessageProcessor implements Runnable {
     /**
      * Parses the order message.
      *
+     * @param format  Wire format of the message.
      * @param message Order message.
      * @return Order.
      */
-    private OrderDTO parseMessage(final String message) {
+    private OrderDTO parseMessage(final WireFormat format, final byte[] message) {
         OrderDTO dto = null;
-        ObjectMapper mapper = new ObjectMapper()
-                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
         try {
-            dto = mapper.readValue(message, OrderDTO.class);
+            dto = MessageSerializers.reader(format, OrderDTO.class).readValue(message);
             LOG.info("Parsed order message: {}", dto);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             LOG.error("Failed to parse order message: {}", e.getMessage());
         }
         return dto;
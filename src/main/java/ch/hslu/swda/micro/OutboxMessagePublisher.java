@@ -0,0 +1,54 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.business.Outbox;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Message publisher that stores the messages in the outbox instead of sending them to the message queue.
+ * <p>
+ * The message is written to the database right after the state change it reports, so the caller does not wait for
+ * the broker and the message survives a crash before it is published. The {@link OutboxRelay} publishes the stored
+ * messages in the background.
+ *
+ * @param <T> Message type.
+ */
+public final class OutboxMessagePublisher<T> implements MessagePublisher<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxMessagePublisher.class);
+
+    private final Outbox outbox;
+
+    /**
+     * Constructor.
+     *
+     * @param outbox Outbox storing the messages.
+     */
+    public OutboxMessagePublisher(final Outbox outbox) {
+        this.outbox = outbox;
+    }
+
+    /**
+     * Stores a message object in the outbox.
+     *
+     * @param route         Message queue.
+     * @param messageObject Message object.
+     * @return Future completed when the message is stored in the outbox.
+     */
+    @Override
+    public CompletableFuture<Void> sendMessage(final String route, final T messageObject) {
+        try {
+            outbox.add(route, MessageSerializers.writer(messageObject.getClass()).writeValueAsString(messageObject));
+            return CompletableFuture.completedFuture(null);
+        } catch (JsonProcessingException e) {
+            LOG.error("Failed to serialize message: {}", e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        } catch (RuntimeException e) {
+            LOG.error("Failed to store message with routing '{}' in outbox: {}", route, e.getMessage());
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.business.Outbox;
+import ch.hslu.swda.entities.OutboxMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the messages stored in the outbox.
+ * <p>
+ * Each run reads the outbox in batches, sends the stored JSON payloads of a batch as they are in one burst per route
+ * and waits for the confirmations of the whole batch up to one deadline. The confirmed messages are removed, the
+ * others stay in the outbox and are sent again by a later run, so the messages are delivered at least once. A run is
+ * skipped while the message queue is unreachable or messages of the previous batch are still unconfirmed, otherwise
+ * the same messages would be buffered by the publisher again on every run and published several times after the
+ * recovery. If the outbox grew beyond its maximum size while the broker was unreachable, the oldest messages are
+ * dropped first.
+ */
+public final class OutboxRelay implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long CONFIRM_TIMEOUT = 5000;
+
+    private final Outbox outbox;
+    private final EncodedMessagePublisher delegate;
+    private final int batchSize;
+    private final long maxSize;
+    private final long confirmTimeout;
+
+    // sent messages by outbox ID whose confirmation is outstanding
+    private final Map<String, CompletableFuture<Void>> inFlight = new LinkedHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param outbox    Outbox storing the messages.
+     * @param delegate  Publisher sending the messages to the message queue.
+     * @param batchSize Maximum number of messages read from the outbox at once.
+     * @param maxSize   Maximum number of messages kept in the outbox.
+     */
+    public OutboxRelay(final Outbox outbox, final EncodedMessagePublisher delegate, final int batchSize,
+                       final long maxSize) {
+        this(outbox, delegate, batchSize, maxSize, CONFIRM_TIMEOUT);
+    }
+
+    /**
+     * Constructor with custom confirmation timeout.
+     *
+     * @param outbox         Outbox storing the messages.
+     * @param delegate       Publisher sending the messages to the message queue.
+     * @param batchSize      Maximum number of messages read from the outbox at once.
+     * @param maxSize        Maximum number of messages kept in the outbox.
+     * @param confirmTimeout Time in milliseconds to wait for the confirmations of a batch.
+     */
+    OutboxRelay(final Outbox outbox, final EncodedMessagePublisher delegate, final int batchSize, final long maxSize,
+                final long confirmTimeout) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize should not be lower than 1");
+        }
+        this.outbox = outbox;
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.maxSize = maxSize;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    /**
+     * Publishes the outbox until it is empty or a message is not confirmed.
+     */
+    @Override
+    public void run() {
+        try {
+            if (!settle()) {
+                LOG.debug("{} messages of the outbox are still unconfirmed, skipping run", inFlight.size());
+                return;
+            }
+            if (!delegate.isAvailable()) {
+                LOG.debug("Message queue unreachable, skipping outbox run");
+                return;
+            }
+            outbox.trim(maxSize);
+            List<OutboxMessage> pending = outbox.getPending(batchSize);
+            while (!pending.isEmpty() && relay(pending) && pending.size() == batchSize) {
+                pending = outbox.getPending(batchSize);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Failed to relay outbox: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Publishes a batch of messages and removes the confirmed ones from the outbox.
+     *
+     * @param batch Messages in the order they were added.
+     * @return True if all messages were confirmed.
+     * @throws InterruptedException If interrupted while waiting for the confirmations.
+     */
+    private boolean relay(final List<OutboxMessage> batch) throws InterruptedException {
+        Map<String, List<OutboxMessage>> routes = new LinkedHashMap<>();
+        for (OutboxMessage message : batch) {
+            routes.computeIfAbsent(message.route(), r -> new ArrayList<>()).add(message);
+        }
+
+        for (Map.Entry<String, List<OutboxMessage>> entry : routes.entrySet()) {
+            List<OutboxMessage> messages = entry.getValue();
+            List<CompletableFuture<Void>> sent = delegate.sendEncoded(entry.getKey(), WireFormat.JSON,
+                    messages.stream().map(m -> m.payload().getBytes(StandardCharsets.UTF_8)).toList());
+            for (int i = 0; i < sent.size(); i++) {
+                inFlight.put(messages.get(i).id(), sent.get(i));
+            }
+        }
+        try {
+            CompletableFuture.allOf(inFlight.values().toArray(new CompletableFuture<?>[0]))
+                    .get(confirmTimeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            // the messages not confirmed in time are checked by settle
+        }
+        final long failed = inFlight.values().stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        settle();
+        if (!inFlight.isEmpty() || failed > 0) {
+            LOG.warn("Not all messages of the outbox were confirmed, {} failed and {} are still unconfirmed",
+                    failed, inFlight.size());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the confirmed messages from the outbox and forgets the failed ones, which are sent again later.
+     *
+     * @return True if no message is unconfirmed anymore.
+     */
+    private boolean settle() {
+        List<String> confirmed = new ArrayList<>();
+        Iterator<Map.Entry<String, CompletableFuture<Void>>> iterator = inFlight.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, CompletableFuture<Void>> entry = iterator.next();
+            if (entry.getValue().isDone()) {
+                if (!entry.getValue().isCompletedExceptionally()) {
+                    confirmed.add(entry.getKey());
+                }
+                iterator.remove();
+            }
+        }
+        outbox.remove(confirmed);
+        return inFlight.isEmpty();
+    }
+}
@@ -6,12 +6,13 @@ import ch.hslu.swda.dto.LogEventDTO;
 import ch.hslu.swda.entities.Article;
 import ch.hslu.swda.entities.Reorder;
 import ch.hslu.swda.entities.ReorderStatus;
-import ch.hslu.swda.entities.WarehouseEntity;
 import ch.hslu.swda.stock.api.Stock;
 import ch.hslu.swda.stock.local.StockLocal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executor;
+
 /**
  * Implements reorder processing.
  */
@@ -26,6 +27,8 @@ public final class ReorderProcessor implements Runnable {
 
     private final Stock stock;
 
+    private final BranchDispatcher dispatcher;
+
     /**
      * Constructor.
      *
@@ -35,10 +38,25 @@ public final class ReorderProcessor implements Runnable {
      */
     public ReorderProcessor(final MessagePublisher<LogEventDTO> messagePublisher,
                             final ProductCatalog catalog, final Reorders reorders) {
+        this(messagePublisher, catalog, reorders, Runnable::run);
+    }
+
+    /**
+     * Constructor with an executor processing the reorders of each branch as a separate task.
+     *
+     * @param messagePublisher Log message publisher.
+     * @param catalog          Product catalog warehouse.
+     * @param reorders         Reorders warehouse.
+     * @param branchExecutor   Executor for the work of a branch.
+     */
+    public ReorderProcessor(final MessagePublisher<LogEventDTO> messagePublisher,
+                            final ProductCatalog catalog, final Reorders reorders,
+                            final Executor branchExecutor) {
         this.eventLogger = messagePublisher;
         this.catalog = catalog;
         this.reorders = reorders;
         this.stock = new StockLocal();
+        this.dispatcher = new BranchDispatcher(branchExecutor);
     }
 
     /**
@@ -58,7 +76,7 @@ public final class ReorderProcessor implements Runnable {
      */
     private void reorderArticlesWithLowStock() {
         LOG.info("Start reordering articles with low stock");
-        for (WarehouseEntity<Article> entity : catalog.getLowStock()) {
+        dispatcher.forEachBranch(catalog.getLowStock(), entity -> {
             Article article = (Article) entity.entity();
             int reordered = reorders.countReorderedArticles(entity.branchId(), article.articleId());
             int predictedStock = article.stock() - article.reserved() + reordered;
@@ -68,7 +86,7 @@ public final class ReorderProcessor implements Runnable {
                         quantity, article.articleId(), entity.branchId());
                 reorders.create(entity.branchId(), article.articleId(), quantity);
             }
-        }
+        });
         LOG.info("Finished reordering articles with low stock");
     }
 
@@ -77,7 +95,7 @@ public final class ReorderProcessor implements Runnable {
      */
     private void processDeliveredReorders() {
         LOG.info("Start processing delivered reorders");
-        for (WarehouseEntity<Reorder> entity : reorders.getAllByStatus(ReorderStatus.DELIVERED)) {
+        dispatcher.forEachBranch(reorders.getAllByStatus(ReorderStatus.DELIVERED), entity -> {
             Reorder reorder = (Reorder) entity.entity();
             LOG.info("Processing delivered reorder {} from branch {}", reorder.reorderId(), entity.branchId());
 
@@ -88,7 +106,7 @@ public final class ReorderProcessor implements Runnable {
             String message = "Received delivery for reorder " + reorder.reorderId() + " from central warehouse";
             LogEventDTO event = new LogEventDTO(entity.branchId(), "reorder.delivered", message);
             eventLogger.sendMessage(Routes.LOG_EVENT, event);
-        }
+        });
         LOG.info("Finished processing delivered reorders");
     }
 
@@ -97,7 +115,7 @@ public final class ReorderProcessor implements Runnable {
      */
     private void processNewReorders() {
         LOG.info("Start processing new reorders");
-        for (WarehouseEntity<Reorder> entity : reorders.getAllByStatus(ReorderStatus.NEW)) {
+        dispatcher.forEachBranch(reorders.getAllByStatus(ReorderStatus.NEW), entity -> {
             Reorder reorder = (Reorder) entity.entity();
             LOG.info("Processing new reorder {} from branch {}", reorder.reorderId(), entity.branchId());
 
@@ -114,7 +132,7 @@ public final class ReorderProcessor implements Runnable {
             } else {
                 LOG.error("Failed to reorder article {} for branch {}", reorder.articleId(), entity.branchId());
             }
-        }
+        });
         LOG.info("Finished processing new reorders");
     }
 
@@ -0,0 +1,68 @@
+package ch.hslu.swda.micro;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.function.Supplier;
+
+/**
+ * Encodings of the messages on the bus, identified by the AMQP content type.
+ * <p>
+ * JSON is the default, it is used if a message has no or an unknown content type so older peers keep working.
+ */
+public enum WireFormat {
+    JSON("application/json", JsonFactory::new),
+    CBOR("application/cbor", CBORFactory::new),
+    SMILE("application/x-jackson-smile", SmileFactory::new);
+
+    private final String contentType;
+    private final Supplier<JsonFactory> factory;
+
+    /**
+     * Constructor.
+     *
+     * @param contentType AMQP content type.
+     * @param factory     Creates the Jackson factory of the format.
+     */
+    WireFormat(final String contentType, final Supplier<JsonFactory> factory) {
+        this.contentType = contentType;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the AMQP content type.
+     *
+     * @return Content type.
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Creates a new Jackson factory for the format.
+     *
+     * @return Jackson factory.
+     */
+    JsonFactory createFactory() {
+        return factory.get();
+    }
+
+    /**
+     * Returns the format of a content type, parameters like the charset are ignored.
+     *
+     * @param contentType AMQP content type, may be null.
+     * @return Format, JSON if the content type is missing or unknown.
+     */
+    public static WireFormat fromContentType(final String contentType) {
+        if (contentType != null) {
+            String mimeType = contentType.split(";", 2)[0].trim();
+            for (WireFormat format : values()) {
+                if (format.contentType.equalsIgnoreCase(mimeType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
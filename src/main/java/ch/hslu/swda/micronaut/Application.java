@@ -1,5 +1,7 @@
 package ch.hslu.swda.micronaut;
 
+import ch.hslu.swda.bus.BusConnectionManager;
+import ch.hslu.swda.bus.WorkerThreads;
 import ch.hslu.swda.business.*;
 import ch.hslu.swda.dto.LogEventDTO;
 import ch.hslu.swda.dto.OrderDTO;
@@ -10,6 +12,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
 import io.swagger.v3.oas.annotations.servers.Server;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -42,26 +45,51 @@ public final class Application {
      * @param args not used.
      */
     public static void main(final String[] args) {
+        // the unique indexes have to exist before the controllers accept requests
+        try (MongoDBConnector connector = new MongoDBConnector(ProductCatalogDB.COLLECTION)) {
+            new IndexManager(connector).ensureIndexes();
+        }
         Micronaut.run(Application.class);
 
         Deliveries deliveries = new DeliveriesDB();
-        ProductCatalog productCatalog = new ProductCatalogDB();
+        ProductCatalog productCatalog = CoalescingProductCatalog.wrapIfConfigured(new ProductCatalogDB());
         Reorders reorders = new ReordersDB();
 
-        MessageListener messageListener = new MessageListenerRMQ();
-        MessagePublisher<LogEventDTO> logEventMessagePublisher = new MessagePublisherRMQ<>();
-        MessagePublisher<OrderDTO> articleMessagePublisher = new MessagePublisherRMQ<>();
+        MessageListener messageListener;
+        if (BusConnectionManager.getInstance().getConfig().isMemoryEnabled()) {
+            messageListener = new MessageListenerInMemory(InMemoryBus.getInstance());
+        } else {
+            messageListener = new MessageListenerRMQ();
+            BusConnectionManager.getInstance().consuming()
+                    .throttleBy(MongoLatencyMonitor.getInstance()::takeAverageMillis);
+            if (BusConnectionManager.getInstance().getConfig().isDedupStore()) {
+                ProcessedMessages processedMessages = new ProcessedMessagesDB();
+                BusConnectionManager.getInstance().consuming().deduplicateWith(processedMessages::contains,
+                        processedMessages::add);
+            }
+        }
+        MessagePublisher<LogEventDTO> logEventMessagePublisher = MessagePublisherFactory.createLogEventPublisher();
+        MessagePublisher<OrderDTO> articleMessagePublisher = MessagePublisherFactory.createPublisher();
 
-        ExecutorService executor = Executors.newCachedThreadPool();
+        ExecutorService executor = WorkerThreads.isVirtual()
+                ? WorkerThreads.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool();
         executor.submit(new ArticleMessageProcessor(messageListener, articleMessagePublisher, productCatalog));
         executor.submit(new OrderMessageProcessor(messageListener, deliveries));
 
-        ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(2);
+        // in virtual thread mode the work of each branch runs on its own virtual thread
+        Executor branchExecutor = WorkerThreads.isVirtual()
+                ? WorkerThreads.newVirtualThreadPerTaskExecutor()
+                : Runnable::run;
+        ScheduledExecutorService scheduledExecutor = Executors.newScheduledThreadPool(3);
+        long outboxInterval = BusConnectionManager.getInstance().getConfig().getOutboxInterval();
+        scheduledExecutor.scheduleWithFixedDelay(MessagePublisherFactory.createLogEventRelay(),
+                outboxInterval, outboxInterval, TimeUnit.MILLISECONDS);
         scheduledExecutor.scheduleAtFixedRate(
-                new DeliveryProcessor(logEventMessagePublisher, productCatalog, deliveries),
+                new DeliveryProcessor(logEventMessagePublisher, productCatalog, deliveries, branchExecutor),
                 15, 30, TimeUnit.SECONDS);
         scheduledExecutor.scheduleAtFixedRate(
-                new ReorderProcessor(logEventMessagePublisher, productCatalog, reorders),
+                new ReorderProcessor(logEventMessagePublisher, productCatalog, reorders, branchExecutor),
                 30, 30, TimeUnit.SECONDS);
     }
 }
@@ -1,5 +1,6 @@
 package ch.hslu.swda.micronaut;
 
+import ch.hslu.swda.bus.BusConnectionManager;
 import io.micronaut.context.event.ShutdownEvent;
 import io.micronaut.context.event.StartupEvent;
 import io.micronaut.runtime.event.annotation.EventListener;
@@ -14,11 +15,17 @@ public final class ApplicationContext {
 
     @EventListener
     public void onStartup(final StartupEvent event) {
+        if (BusConnectionManager.getInstance().getConfig().isMemoryEnabled()) {
+            LOG.info("Micronaut starting - using in-memory bus");
+            return;
+        }
         LOG.info("Micronaut starting - establishing connection...");
+        BusConnectionManager.getInstance().start();
     }
 
     @EventListener
     public void onShutdown(final ShutdownEvent event) {
         LOG.info("Micronaut stopping - connection terminating...");
+        BusConnectionManager.getInstance().close();
     }
 }
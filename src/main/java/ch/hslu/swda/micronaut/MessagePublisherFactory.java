@@ -0,0 +1,83 @@
+package ch.hslu.swda.micronaut;
+
+import ch.hslu.swda.bus.BusConnectionManager;
+import ch.hslu.swda.bus.RabbitMqConfig;
+import ch.hslu.swda.business.OutboxDB;
+import ch.hslu.swda.dto.ArticleDeliveredDTO;
+import ch.hslu.swda.dto.LogEventDTO;
+import ch.hslu.swda.micro.EncodedMessagePublisher;
+import ch.hslu.swda.micro.InMemoryBus;
+import ch.hslu.swda.micro.MessagePublisher;
+import ch.hslu.swda.micro.MessagePublisherInMemory;
+import ch.hslu.swda.micro.MessagePublisherRMQ;
+import ch.hslu.swda.micro.OutboxMessagePublisher;
+import ch.hslu.swda.micro.OutboxRelay;
+import ch.hslu.swda.micro.WireFormat;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Primary;
+import jakarta.inject.Singleton;
+
+/**
+ * Creates the message publishers that need more than the default Rabbit MQ publisher.
+ */
+@Factory
+public final class MessagePublisherFactory {
+
+    /**
+     * Creates the publisher for log events, the events are stored in the outbox.
+     *
+     * @return Log event publisher.
+     */
+    @Primary
+    @Singleton
+    public OutboxMessagePublisher<LogEventDTO> logEventPublisher() {
+        return createLogEventPublisher();
+    }
+
+    /**
+     * Creates the publisher for delivered articles.
+     *
+     * @return Delivered article publisher.
+     */
+    @Primary
+    @Singleton
+    public MessagePublisher<ArticleDeliveredDTO> articleDeliveredPublisher() {
+        return createPublisher();
+    }
+
+    /**
+     * Creates a publisher sending to Rabbit MQ, or to the in-memory bus if it is enabled.
+     *
+     * @param <T> Message type.
+     * @return Message publisher.
+     */
+    static <T> MessagePublisher<T> createPublisher() {
+        RabbitMqConfig config = BusConnectionManager.getInstance().getConfig();
+        if (config.isMemoryEnabled()) {
+            return new MessagePublisherInMemory<>(InMemoryBus.getInstance(), WireFormat.JSON);
+        }
+        return new MessagePublisherRMQ<>();
+    }
+
+    /**
+     * Creates a publisher storing log events in the outbox.
+     *
+     * @return Log event publisher.
+     */
+    static OutboxMessagePublisher<LogEventDTO> createLogEventPublisher() {
+        return new OutboxMessagePublisher<>(new OutboxDB());
+    }
+
+    /**
+     * Creates the relay publishing the log events of the outbox in batches.
+     *
+     * @return Log event relay.
+     */
+    static OutboxRelay createLogEventRelay() {
+        RabbitMqConfig config = BusConnectionManager.getInstance().getConfig();
+        EncodedMessagePublisher publisher = config.isMemoryEnabled()
+                ? new MessagePublisherInMemory<>(InMemoryBus.getInstance(), WireFormat.JSON)
+                : new MessagePublisherRMQ<>();
+        return new OutboxRelay(new OutboxDB(), publisher, config.getBatchSize(), config.getOutboxMaxSize());
+    }
+}
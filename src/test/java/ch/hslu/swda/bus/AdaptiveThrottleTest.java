@@ -0,0 +1,62 @@
+package ch.hslu.swda.bus;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the adaptive throttle.
+ */
+class AdaptiveThrottleTest {
+
+    @Test
+    void testStartsAtMaximum() {
+        assertThat(new AdaptiveThrottle(1, 32, 100).limit()).isEqualTo(32);
+    }
+
+    @Test
+    void testMultiplicativeDecrease() {
+        AdaptiveThrottle throttle = new AdaptiveThrottle(1, 32, 100);
+        assertThat(throttle.adjust(150)).isEqualTo(24);
+        assertThat(throttle.adjust(150)).isEqualTo(18);
+    }
+
+    @Test
+    void testDecreaseStopsAtMinimum() {
+        AdaptiveThrottle throttle = new AdaptiveThrottle(2, 4, 100);
+        for (int i = 0; i < 10; i++) {
+            throttle.adjust(500);
+        }
+        assertThat(throttle.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void testAdditiveIncrease() {
+        AdaptiveThrottle throttle = new AdaptiveThrottle(1, 32, 100);
+        throttle.adjust(150);
+        assertThat(throttle.adjust(50)).isEqualTo(25);
+        assertThat(throttle.adjust(Double.NaN)).isEqualTo(26);
+    }
+
+    @Test
+    void testAcquireBlocksAtLimit() throws InterruptedException {
+        AdaptiveThrottle throttle = new AdaptiveThrottle(1, 1, 100);
+        throttle.acquire();
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiting = new Thread(() -> {
+            try {
+                throttle.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiting.start();
+        assertThat(acquired.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        throttle.release();
+        assertThat(acquired.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,122 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the buffering of published messages while the connection is down and the partitioned consumer.
+ */
+class BusConnectorTest {
+
+    private ConnectionStub stub;
+    private BusConnector bus;
+
+    @BeforeEach
+    void initializeEnv() throws IOException {
+        stub = new ConnectionStub();
+        bus = new BusConnector(new RabbitMqConfig("rabbitmq.test.properties"));
+        bus.connect(stub.connection());
+    }
+
+    @AfterEach
+    void cleanup() {
+        bus.close();
+    }
+
+    @Test
+    void testBufferedWhileDisconnectedAndFlushedOnRecovery() throws IOException {
+        stub.setOpen(false);
+        CompletableFuture<Void> confirmed = bus.talkAsync("swda", "log.event", "1");
+        assertThat(confirmed).isNotDone();
+        assertThat(bus.isConnected()).isFalse();
+
+        stub.recover();
+        assertThat(confirmed).isCompleted();
+        assertThat(publishingChannel().published()).containsExactly("log.event");
+    }
+
+    @Test
+    void testRemainingMessagesBufferedWhenConnectionLost() throws IOException {
+        assertThat(bus.talkAsync("swda", "log.event", "0")).isCompleted();
+        publishingChannel().failPublishAfter(2, () -> {
+            stub.setOpen(false);
+            return new IOException("connection lost");
+        });
+
+        List<CompletableFuture<Void>> confirmed = bus.talkAsync("swda", "log.event",
+                List.of(bytes("1"), bytes("2"), bytes("3")), null);
+        assertThat(confirmed.get(0)).isCompleted();
+        assertThat(confirmed.get(1)).isNotDone();
+        assertThat(confirmed.get(2)).isNotDone();
+
+        publishingChannel().failPublish(null);
+        stub.recover();
+        assertThat(confirmed).allMatch(CompletableFuture::isDone)
+                .noneMatch(CompletableFuture::isCompletedExceptionally);
+        assertThat(publishingChannel().published()).hasSize(4);
+    }
+
+    @Test
+    void testMalformedPartitionKeyDeadLettered() throws Exception {
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch processed = new CountDownLatch(1);
+        bus.listenFor("swda", "orders", "order.warehouse", (route, replyTo, corrId, contentType, message) -> {
+            received.add(new String(message, StandardCharsets.UTF_8));
+            processed.countDown();
+        }, (contentType, message) -> {
+            String key = new String(message, StandardCharsets.UTF_8);
+            if (!key.chars().allMatch(Character::isDigit)) {
+                throw new IllegalArgumentException("malformed key");
+            }
+            return key;
+        });
+        ChannelStub listener = stub.channels().get(1);
+
+        long malformed = listener.deliver("order.warehouse", new AMQP.BasicProperties(), bytes("{"));
+        listener.deliver("order.warehouse", new AMQP.BasicProperties(), bytes("1"));
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("1");
+        assertThat(listener.acked()).contains(malformed);
+        ChannelStub publishing = stub.channels().get(2);
+        assertThat(publishing.exchanges()).containsExactly("swda.dlx");
+        assertThat(publishing.published()).containsExactly("order.warehouse");
+    }
+
+    @Test
+    void testPartitionKeyHeaderSkipsExtraction() throws Exception {
+        CountDownLatch processed = new CountDownLatch(1);
+        bus.listenFor("swda", "orders", "order.warehouse",
+                (route, replyTo, corrId, contentType, message) -> processed.countDown(),
+                (contentType, message) -> {
+                    throw new IllegalStateException("key extracted from the body");
+                });
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(PartitionKeyExtractor.HEADER, "1")).build();
+
+        stub.channels().get(1).deliver("order.warehouse", props, bytes("{"));
+        assertThat(processed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stub.channels()).hasSize(2);
+    }
+
+    private ChannelStub publishingChannel() {
+        // the first channel is the one of the RPC client
+        return stub.channels().get(1);
+    }
+
+    private static byte[] bytes(final String message) {
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for the publishing channel pool.
+ */
+class ChannelPoolTest {
+
+    private List<ChannelStub> channels;
+    private Connection connection;
+
+    @BeforeEach
+    void initializeEnv() {
+        ConnectionStub stub = new ConnectionStub();
+        channels = stub.channels();
+        connection = stub.connection();
+    }
+
+    @Test
+    void testBorrowTimeout() throws IOException {
+        ChannelPool pool = new ChannelPool(connection, true, null, 1, 50);
+        pool.borrow();
+        assertThatThrownBy(pool::borrow).isInstanceOf(IOException.class).hasMessageContaining("50 ms");
+        assertThat(pool.stats().timeouts()).isEqualTo(1L);
+        assertThat(pool.stats().borrowed()).isEqualTo(1L);
+    }
+
+    @Test
+    void testReplaceClosedChannel() throws IOException {
+        ChannelPool pool = new ChannelPool(connection, true, null, 1, 50);
+        PublisherChannel first = pool.borrow();
+        CompletableFuture<Void> unconfirmed = first.publish(message());
+        pool.release(first);
+        channels.get(0).drop();
+
+        PublisherChannel second = pool.borrow();
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.channel()).isSameAs(channels.get(1).channel());
+        assertThat(channels.get(0).closed()).isEqualTo(1);
+        assertThat(unconfirmed).isCompletedExceptionally();
+        assertThat(pool.stats().created()).isEqualTo(1);
+    }
+
+    @Test
+    void testStats() throws IOException {
+        ChannelPool pool = new ChannelPool(connection, false, null, 2, 50);
+        PublisherChannel first = pool.borrow();
+        PublisherChannel second = pool.borrow();
+        pool.release(first);
+        pool.release(second);
+        pool.execute(c -> c.publish(message()));
+        assertThat(pool.stats()).satisfies(stats -> {
+            assertThat(stats.size()).isEqualTo(2);
+            assertThat(stats.created()).isEqualTo(2);
+            assertThat(stats.idle()).isEqualTo(2);
+            assertThat(stats.borrowed()).isEqualTo(3L);
+            assertThat(stats.timeouts()).isZero();
+        });
+        pool.close();
+        assertThat(channels).allMatch(channel -> channel.closed() == 1);
+    }
+
+    private static OutboundMessage message() {
+        return new OutboundMessage("swda", "log.event", new AMQP.BasicProperties(), new byte[0]);
+    }
+}
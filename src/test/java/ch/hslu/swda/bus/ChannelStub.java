@@ -0,0 +1,183 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmCallback;
+import com.rabbitmq.client.DeliverCallback;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Channel test double recording the published routes and acknowledged messages, the confirm and shutdown callbacks
+ * and the deliveries to a consumer are fired by the test.
+ */
+final class ChannelStub implements InvocationHandler {
+
+    private final Channel channel = (Channel) Proxy.newProxyInstance(Channel.class.getClassLoader(),
+            new Class<?>[]{Channel.class}, this);
+    private final int number;
+    private final List<String> published = new ArrayList<>();
+    private final List<String> exchanges = new ArrayList<>();
+    private final List<Long> acked = new CopyOnWriteArrayList<>();
+    private long nextDeliveryTag = 1;
+    private long nextPublishSeqNo = 1;
+    private boolean open = true;
+    private int closed;
+    private Supplier<IOException> publishFailure;
+    private int publishLimit;
+    private ConfirmCallback ackCallback;
+    private ConfirmCallback nackCallback;
+    private ShutdownListener shutdownListener;
+    private DeliverCallback deliverCallback;
+
+    /**
+     * Constructor.
+     *
+     * @param number Channel number.
+     */
+    ChannelStub(final int number) {
+        this.number = number;
+    }
+
+    Channel channel() {
+        return channel;
+    }
+
+    List<String> published() {
+        return published;
+    }
+
+    List<String> exchanges() {
+        return exchanges;
+    }
+
+    List<Long> acked() {
+        return acked;
+    }
+
+    int closed() {
+        return closed;
+    }
+
+    void failPublish(final IOException failure) {
+        failPublishAfter(published.size(), failure != null ? () -> failure : null);
+    }
+
+    /**
+     * Fails the publishes after a number of published messages.
+     *
+     * @param count   Number of messages published before failing.
+     * @param failure Creates the failure, may also close the connection, null to stop failing.
+     */
+    void failPublishAfter(final int count, final Supplier<IOException> failure) {
+        publishLimit = count;
+        publishFailure = failure;
+    }
+
+    void ack(final long deliveryTag, final boolean multiple) throws IOException {
+        ackCallback.handle(deliveryTag, multiple);
+    }
+
+    void nack(final long deliveryTag, final boolean multiple) throws IOException {
+        nackCallback.handle(deliveryTag, multiple);
+    }
+
+    /**
+     * Delivers a message to the consumer of the channel, on the calling thread like the AMQP client thread does.
+     *
+     * @param route Routing key.
+     * @param props Message properties.
+     * @param body  Message body.
+     * @return Delivery tag of the message.
+     * @throws IOException IOException.
+     */
+    long deliver(final String route, final AMQP.BasicProperties props, final byte[] body) throws IOException {
+        final long deliveryTag = nextDeliveryTag++;
+        deliverCallback.handle("consumer-" + number,
+                new Delivery(new Envelope(deliveryTag, false, "swda", route), props, body));
+        return deliveryTag;
+    }
+
+    /**
+     * Marks the channel closed without notifying the shutdown listener.
+     */
+    void drop() {
+        open = false;
+    }
+
+    /**
+     * Closes the channel like the broker or a lost connection does.
+     *
+     * @param connectionLost True if the connection was lost, false for a channel error.
+     */
+    void shutdown(final boolean connectionLost) {
+        open = false;
+        if (shutdownListener != null) {
+            shutdownListener.shutdownCompleted(new ShutdownSignalException(connectionLost, false, null, channel));
+        }
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "getNextPublishSeqNo":
+                return nextPublishSeqNo;
+            case "basicPublish":
+                if (publishFailure != null && published.size() >= publishLimit) {
+                    throw publishFailure.get();
+                }
+                exchanges.add((String) args[0]);
+                published.add((String) args[1]);
+                nextPublishSeqNo++;
+                return null;
+            case "addConfirmListener":
+                ackCallback = (ConfirmCallback) args[0];
+                nackCallback = (ConfirmCallback) args[1];
+                return null;
+            case "addShutdownListener":
+                shutdownListener = (ShutdownListener) args[0];
+                return null;
+            case "basicConsume":
+                for (Object arg : args) {
+                    if (arg instanceof DeliverCallback callback) {
+                        deliverCallback = callback;
+                    }
+                }
+                return "consumer-" + number;
+            case "basicAck":
+                acked.add((Long) args[0]);
+                return null;
+            case "isOpen":
+                return open;
+            case "close":
+            case "abort":
+                open = false;
+                closed++;
+                return null;
+            case "getChannelNumber":
+                return number;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "ChannelStub " + number;
+            default:
+                if (method.getReturnType().isPrimitive() && method.getReturnType() != void.class) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                return null;
+        }
+    }
+}
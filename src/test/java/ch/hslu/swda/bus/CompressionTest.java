@@ -0,0 +1,49 @@
+package ch.hslu.swda.bus;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for the message body compression.
+ */
+class CompressionTest {
+
+    private static final byte[] BODY = "{\"articleId\":100001,\"quantity\":1}".repeat(100)
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testGzipRoundTrip() throws IOException {
+        byte[] compressed = Compression.GZIP.compress(BODY);
+        assertThat(compressed.length).isLessThan(BODY.length);
+        assertThat(Compression.GZIP.decompress(compressed)).isEqualTo(BODY);
+    }
+
+    @Test
+    void testLz4RoundTrip() throws IOException {
+        byte[] compressed = Compression.LZ4.compress(BODY);
+        assertThat(compressed.length).isLessThan(BODY.length);
+        assertThat(Compression.LZ4.decompress(compressed)).isEqualTo(BODY);
+    }
+
+    @Test
+    void testFromName() {
+        assertThat(Compression.fromName("none")).isNull();
+        assertThat(Compression.fromName("gzip")).isEqualTo(Compression.GZIP);
+        assertThat(Compression.fromName("LZ4")).isEqualTo(Compression.LZ4);
+        assertThatThrownBy(() -> Compression.fromName("zstd")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testFromContentEncoding() throws IOException {
+        assertThat(Compression.fromContentEncoding(null)).isNull();
+        assertThat(Compression.fromContentEncoding("identity")).isNull();
+        assertThat(Compression.fromContentEncoding("gzip")).isEqualTo(Compression.GZIP);
+        assertThat(Compression.fromContentEncoding("lz4")).isEqualTo(Compression.LZ4);
+        assertThatThrownBy(() -> Compression.fromContentEncoding("br")).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Recoverable;
+import com.rabbitmq.client.RecoveryListener;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recoverable connection test double creating channel stubs, the recovery is fired by the test.
+ */
+final class ConnectionStub implements InvocationHandler {
+
+    private final Connection connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class, Recoverable.class}, this);
+    private final List<ChannelStub> channels = new ArrayList<>();
+    private final List<RecoveryListener> recoveryListeners = new ArrayList<>();
+    private volatile boolean open = true;
+
+    Connection connection() {
+        return connection;
+    }
+
+    List<ChannelStub> channels() {
+        return channels;
+    }
+
+    void setOpen(final boolean open) {
+        this.open = open;
+    }
+
+    /**
+     * Reopens the connection and notifies the recovery listeners.
+     */
+    void recover() {
+        open = true;
+        recoveryListeners.forEach(listener -> listener.handleRecovery((Recoverable) connection));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "createChannel":
+                ChannelStub stub = new ChannelStub(channels.size() + 1);
+                channels.add(stub);
+                return stub.channel();
+            case "addRecoveryListener":
+                recoveryListeners.add((RecoveryListener) args[0]);
+                return null;
+            case "isOpen":
+                return open;
+            case "close":
+                open = false;
+                return null;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "ConnectionStub";
+            default:
+                throw new UnsupportedOperationException(method.getName());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the deduplication of processed messages.
+ */
+class MessageDeduplicatorTest {
+
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testKeyIsMessageId() {
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().messageId("id-1").build();
+        assertThat(MessageDeduplicator.key(props, BODY)).isEqualTo("id-1");
+    }
+
+    @Test
+    void testKeyIsDigestWithoutMessageId() {
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder().build();
+        String key = MessageDeduplicator.key(props, BODY);
+        assertThat(key).startsWith("sha256:").hasSize(7 + 64);
+        assertThat(MessageDeduplicator.key(props, BODY.clone())).isEqualTo(key);
+    }
+
+    @Test
+    void testProcessedMessageIsDuplicate() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(10);
+        assertThat(deduplicator.isDuplicate("id-1", false)).isFalse();
+        deduplicator.processed("id-1");
+        assertThat(deduplicator.isDuplicate("id-1", false)).isTrue();
+        assertThat(deduplicator.isDuplicate("id-1", true)).isTrue();
+        assertThat(deduplicator.isDuplicate("id-2", true)).isFalse();
+    }
+
+    @Test
+    void testDigestIsOnlyDuplicateWhenRedelivered() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(10);
+        deduplicator.processed("sha256:abc");
+        assertThat(deduplicator.isDuplicate("sha256:abc", false)).isFalse();
+        assertThat(deduplicator.isDuplicate("sha256:abc", true)).isTrue();
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(2);
+        deduplicator.processed("id-1");
+        deduplicator.processed("id-2");
+        assertThat(deduplicator.isDuplicate("id-1", false)).isTrue();
+        deduplicator.processed("id-3");
+        assertThat(deduplicator.size()).isEqualTo(2);
+        assertThat(deduplicator.isDuplicate("id-1", false)).isTrue();
+        assertThat(deduplicator.isDuplicate("id-2", false)).isFalse();
+    }
+
+    @Test
+    void testStoreOnlyQueriedWhenRedelivered() {
+        Set<String> store = new HashSet<>(Set.of("id-1"));
+        Set<String> queried = new HashSet<>();
+        MessageDeduplicator deduplicator = new MessageDeduplicator(10, key -> {
+            queried.add(key);
+            return store.contains(key);
+        }, store::add);
+        assertThat(deduplicator.isDuplicate("id-1", false)).isFalse();
+        assertThat(queried).isEmpty();
+        assertThat(deduplicator.isDuplicate("id-1", true)).isTrue();
+        assertThat(queried).containsExactly("id-1");
+        deduplicator.processed("id-2");
+        assertThat(store).contains("id-2");
+    }
+
+    @Test
+    void testStoreFailureProcessesMessage() {
+        MessageDeduplicator deduplicator = new MessageDeduplicator(10, key -> {
+            throw new IllegalStateException("down");
+        }, key -> {
+            throw new IllegalStateException("down");
+        });
+        assertThat(deduplicator.isDuplicate("id-1", true)).isFalse();
+        deduplicator.processed("id-1");
+        assertThat(deduplicator.isDuplicate("id-1", true)).isTrue();
+    }
+}
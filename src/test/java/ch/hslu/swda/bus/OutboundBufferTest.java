@@ -0,0 +1,73 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the outbound buffer.
+ */
+class OutboundBufferTest {
+
+    private ConnectionStub stub;
+    private ChannelPool pool;
+
+    @BeforeEach
+    void initializeEnv() {
+        stub = new ConnectionStub();
+        pool = new ChannelPool(stub.connection(), false, null, 1, 50);
+    }
+
+    @Test
+    void testFullBufferRejectsMessage() {
+        OutboundBuffer buffer = new OutboundBuffer(1);
+        OutboundMessage first = message("a");
+        OutboundMessage second = message("b");
+        buffer.add(first);
+        buffer.add(second);
+        assertThat(buffer.size()).isEqualTo(1);
+        assertThat(first.confirmed()).isNotDone();
+        assertThat(second.confirmed()).isCompletedExceptionally();
+    }
+
+    @Test
+    void testFlush() {
+        OutboundBuffer buffer = new OutboundBuffer(10);
+        OutboundMessage first = message("a");
+        OutboundMessage second = message("b");
+        buffer.add(first);
+        buffer.add(second);
+        assertThat(buffer.flush(pool)).isEqualTo(2);
+        assertThat(buffer.size()).isZero();
+        assertThat(stub.channels().get(0).published()).containsExactly("a", "b");
+        assertThat(first.confirmed()).isCompleted();
+        assertThat(second.confirmed()).isCompleted();
+    }
+
+    @Test
+    void testFailedFlushKeepsRemainingMessages() throws IOException {
+        pool.release(pool.borrow());
+        ChannelStub channel = stub.channels().get(0);
+        channel.failPublishAfter(1, () -> new IOException("connection lost"));
+
+        OutboundBuffer buffer = new OutboundBuffer(10);
+        buffer.add(message("a"));
+        buffer.add(message("b"));
+        buffer.add(message("c"));
+        assertThat(buffer.flush(pool)).isEqualTo(1);
+        assertThat(buffer.size()).isEqualTo(2);
+
+        channel.failPublish(null);
+        assertThat(buffer.flush(pool)).isEqualTo(2);
+        assertThat(buffer.size()).isZero();
+        assertThat(channel.published()).containsExactly("a", "b", "c");
+    }
+
+    private static OutboundMessage message(final String route) {
+        return new OutboundMessage("swda", route, new AMQP.BasicProperties(), new byte[0]);
+    }
+}
@@ -0,0 +1,107 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.ShutdownSignalException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for the confirm tracking of the publisher channel.
+ */
+class PublisherChannelTest {
+
+    private ChannelStub stub;
+    private List<OutboundMessage> unconfirmed;
+    private PublisherChannel channel;
+
+    @BeforeEach
+    void initializeEnv() throws IOException {
+        stub = new ChannelStub(1);
+        unconfirmed = new ArrayList<>();
+        channel = new PublisherChannel(stub.channel(), true, unconfirmed::add);
+    }
+
+    @Test
+    void testAck() throws IOException {
+        CompletableFuture<Void> first = channel.publish(message());
+        CompletableFuture<Void> second = channel.publish(message());
+        stub.ack(2, false);
+        assertThat(first).isNotDone();
+        assertThat(second).isCompleted();
+        stub.ack(1, false);
+        assertThat(first).isCompleted();
+    }
+
+    @Test
+    void testMultipleAck() throws IOException {
+        CompletableFuture<Void> first = channel.publish(message());
+        CompletableFuture<Void> second = channel.publish(message());
+        CompletableFuture<Void> third = channel.publish(message());
+        stub.ack(2, true);
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(third).isNotDone();
+    }
+
+    @Test
+    void testNack() throws IOException {
+        CompletableFuture<Void> first = channel.publish(message());
+        CompletableFuture<Void> second = channel.publish(message());
+        stub.nack(2, true);
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        stub.ack(2, true);
+        assertThat(first).isCompletedExceptionally();
+    }
+
+    @Test
+    void testChannelErrorFailsOutstanding() throws IOException {
+        CompletableFuture<Void> first = channel.publish(message());
+        stub.shutdown(false);
+        assertThat(first).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(ShutdownSignalException.class);
+        assertThat(unconfirmed).isEmpty();
+    }
+
+    @Test
+    void testConnectionLossHandsOverOutstanding() throws IOException {
+        channel.publish(message());
+        CompletableFuture<Void> second = channel.publish(message());
+        stub.ack(1, false);
+        stub.shutdown(true);
+        assertThat(unconfirmed).singleElement().extracting(OutboundMessage::confirmed).isSameAs(second);
+        assertThat(second).isNotDone();
+    }
+
+    @Test
+    void testFailedPublishIsNotTracked() throws IOException {
+        stub.failPublish(new IOException("closed"));
+        OutboundMessage message = message();
+        assertThatThrownBy(() -> channel.publish(message)).isInstanceOf(IOException.class);
+        stub.shutdown(true);
+        assertThat(unconfirmed).isEmpty();
+    }
+
+    @Test
+    void testWithoutConfirms() throws IOException {
+        ChannelStub plain = new ChannelStub(2);
+        PublisherChannel unconfirmedChannel = new PublisherChannel(plain.channel(), false, null);
+        assertThat(unconfirmedChannel.publish(message())).isCompleted();
+        assertThat(plain.published()).containsExactly("log.event");
+    }
+
+    private static OutboundMessage message() {
+        return new OutboundMessage("swda", "log.event", new AMQP.BasicProperties(), new byte[0]);
+    }
+}
@@ -0,0 +1,55 @@
+package ch.hslu.swda.bus;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for the queue settings.
+ */
+class QueueSettingsTest {
+
+    @Test
+    void testDefaultArguments() {
+        QueueSettings settings = new QueueSettings(null, false, 0L, null, 0L, false, true);
+        assertThat(settings.type()).isEqualTo("classic");
+        assertThat(settings.arguments()).isEmpty();
+        assertThat(settings.autoDelete()).isTrue();
+    }
+
+    @Test
+    void testLazyBoundedClassic() {
+        QueueSettings settings = new QueueSettings("classic", true, 1000L, "reject-publish", 60000L, false, true);
+        assertThat(settings.arguments())
+                .containsEntry("x-queue-mode", "lazy")
+                .containsEntry("x-max-length", 1000L)
+                .containsEntry("x-overflow", "reject-publish")
+                .containsEntry("x-message-ttl", 60000L)
+                .doesNotContainKey("x-queue-type");
+    }
+
+    @Test
+    void testQuorumIsNotAutoDelete() {
+        QueueSettings settings = new QueueSettings("Quorum", true, 0L, null, 0L, true, true);
+        assertThat(settings.autoDelete()).isFalse();
+        assertThat(settings.arguments())
+                .containsEntry("x-queue-type", "quorum")
+                .containsEntry("x-single-active-consumer", true)
+                .doesNotContainKey("x-queue-mode");
+    }
+
+    @Test
+    void testUnsupportedType() {
+        assertThatThrownBy(() -> new QueueSettings("priority", false, 0L, null, 0L, false, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testStreamIsRejected() {
+        assertThatThrownBy(() -> new QueueSettings("stream", false, 0L, null, 0L, false, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new QueueSettings("Stream", false, 1000L, "reject-publish", 60000L, false, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -16,6 +16,7 @@
 package ch.hslu.swda.bus;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
 
@@ -56,4 +57,260 @@ final class RabbitMqConfigTest {
         assertThat(new RabbitMqConfig("rabbitmq.test.properties").getExchange()).isEqualTo("4444");
     }
 
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#isPublisherConfirms()}.
+     */
+    @Test
+    void testIsPublisherConfirms() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").isPublisherConfirms()).isFalse();
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getChannelPoolSize()}.
+     */
+    @Test
+    void testGetChannelPoolSize() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getChannelPoolSize()).isEqualTo(5);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getChannelPoolTimeout()}.
+     */
+    @Test
+    void testGetChannelPoolTimeout() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getChannelPoolTimeout()).isEqualTo(6666L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getConsumerPrefetch()}.
+     */
+    @Test
+    void testGetConsumerPrefetch() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getConsumerPrefetch()).isEqualTo(7);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getConsumerPrefetch(String)}.
+     */
+    @Test
+    void testGetConsumerPrefetchRoute() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getConsumerPrefetch("article.get")).isEqualTo(2);
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getConsumerPrefetch("log.event")).isEqualTo(7);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getConsumerWorkers()}.
+     */
+    @Test
+    void testGetConsumerWorkers() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getConsumerWorkers()).isEqualTo(8);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getConsumerWorkers(String)}.
+     */
+    @Test
+    void testGetConsumerWorkersRoute() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getConsumerWorkers("article.get")).isEqualTo(3);
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getConsumerWorkers("log.event")).isEqualTo(8);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getRpcTimeout()}.
+     */
+    @Test
+    void testGetRpcTimeout() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getRpcTimeout()).isEqualTo(9999L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getRecoveryDelayInitial()}.
+     */
+    @Test
+    void testGetRecoveryDelayInitial() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getRecoveryDelayInitial()).isEqualTo(100L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getRecoveryDelayMax()}.
+     */
+    @Test
+    void testGetRecoveryDelayMax() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getRecoveryDelayMax()).isEqualTo(200L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getOutboundBufferSize()}.
+     */
+    @Test
+    void testGetOutboundBufferSize() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getOutboundBufferSize()).isEqualTo(300);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getContentType(String)}.
+     */
+    @Test
+    void testGetContentType() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getContentType("order.warehouse"))
+                .isEqualTo("application/cbor");
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getContentType(String)}.
+     */
+    @Test
+    void testGetContentTypeDefault() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getContentType("log.event"))
+                .isEqualTo("application/json");
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getCompression()}.
+     */
+    @Test
+    void testGetCompression() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getCompression()).isEqualTo("lz4");
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getCompressionThreshold()}.
+     */
+    @Test
+    void testGetCompressionThreshold() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getCompressionThreshold()).isEqualTo(400);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getBatchSize()}.
+     */
+    @Test
+    void testGetBatchSize() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getBatchSize()).isEqualTo(500);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getRetryMax()}.
+     */
+    @Test
+    void testGetRetryMax() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getRetryMax()).isEqualTo(2);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getRetryDelay()}.
+     */
+    @Test
+    void testGetRetryDelay() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getRetryDelay()).isEqualTo(700L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getQueueSettings(String)}.
+     */
+    @Test
+    void testGetQueueSettings() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getQueueSettings("order.warehouse"))
+                .isEqualTo(new QueueSettings("quorum", false, 800L, "reject-publish", 900L, true, false));
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getQueueSettings(String)}.
+     */
+    @Test
+    void testGetQueueSettingsDefault() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getQueueSettings("log.event"))
+                .isEqualTo(new QueueSettings("classic", false, 0L, null, 0L, false, false));
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getQueueSettings(String)}.
+     */
+    @Test
+    void testGetQueueSettingsAutoDeleteWithRetries() {
+        RabbitMqConfig config = new RabbitMqConfig("rabbitmq.test.properties");
+        assertThatThrownBy(() -> config.getQueueSettings("article.get"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getThrottleLatencyTarget()}.
+     */
+    @Test
+    void testGetThrottleLatencyTarget() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getThrottleLatencyTarget()).isEqualTo(1100L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getThrottleInterval()}.
+     */
+    @Test
+    void testGetThrottleInterval() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getThrottleInterval()).isEqualTo(1200L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getDedupCacheSize()}.
+     */
+    @Test
+    void testGetDedupCacheSize() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getDedupCacheSize()).isEqualTo(1300);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#isDedupStore()}.
+     */
+    @Test
+    void testIsDedupStore() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").isDedupStore()).isTrue();
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getOutboxInterval()}.
+     */
+    @Test
+    void testGetOutboxInterval() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getOutboxInterval()).isEqualTo(1400L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getOutboxMaxSize()}.
+     */
+    @Test
+    void testGetOutboxMaxSize() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getOutboxMaxSize()).isEqualTo(1450L);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#isMemoryEnabled()}.
+     */
+    @Test
+    void testIsMemoryEnabled() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").isMemoryEnabled()).isTrue();
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getMemoryCapacity()}.
+     */
+    @Test
+    void testGetMemoryCapacity() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getMemoryCapacity()).isEqualTo(1500);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getMemoryConsumers()}.
+     */
+    @Test
+    void testGetMemoryConsumers() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getMemoryConsumers()).isEqualTo(16);
+    }
+
+    /**
+     * Test method for {@link ch.hslu.swda.bus.RabbitMqConfig#getMemoryLatency()}.
+     */
+    @Test
+    void testGetMemoryLatency() {
+        assertThat(new RabbitMqConfig("rabbitmq.test.properties").getMemoryLatency()).isEqualTo(1700L);
+    }
+
 }
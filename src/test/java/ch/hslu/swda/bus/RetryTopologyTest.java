@@ -0,0 +1,74 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Delivery;
+import com.rabbitmq.client.Envelope;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the retry and dead-letter topology.
+ */
+class RetryTopologyTest {
+
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final RetryTopology topology = new RetryTopology("swda", "queue", "order.warehouse", 2, 1000);
+
+    @Test
+    void testDelayDoubles() {
+        assertThat(topology.delay(1)).isEqualTo(1000L);
+        assertThat(topology.delay(2)).isEqualTo(2000L);
+        assertThat(topology.delay(3)).isEqualTo(4000L);
+    }
+
+    @Test
+    void testRetryQueueNamedByDelay() {
+        RetryTopology slower = new RetryTopology("swda", "queue", "order.warehouse", 2, 1500);
+        assertThat(topology.retryQueue(2)).isEqualTo("queue.retry.2000");
+        assertThat(slower.retryQueue(2)).isEqualTo("queue.retry.3000");
+    }
+
+    @Test
+    void testFirstRetry() {
+        OutboundMessage message = topology.reroute(delivery(null), false, new IllegalStateException("down"));
+        assertThat(message.exchange()).isEmpty();
+        assertThat(message.route()).isEqualTo("queue.retry.1000");
+        assertThat(RetryTopology.retryCount(message.props())).isEqualTo(1);
+        assertThat(message.props().getHeaders()).containsEntry(RetryTopology.EXCEPTION_HEADER, "down");
+        assertThat(message.body()).isSameAs(BODY);
+    }
+
+    @Test
+    void testSecondRetry() {
+        OutboundMessage message = topology.reroute(delivery(1), false, new IllegalStateException("down"));
+        assertThat(message.route()).isEqualTo("queue.retry.2000");
+        assertThat(RetryTopology.retryCount(message.props())).isEqualTo(2);
+    }
+
+    @Test
+    void testRetriesExhausted() {
+        OutboundMessage message = topology.reroute(delivery(2), false, new IllegalStateException("down"));
+        assertThat(message.exchange()).isEqualTo("swda.dlx");
+        assertThat(message.route()).isEqualTo("order.warehouse");
+    }
+
+    @Test
+    void testPoisonMessage() {
+        OutboundMessage message = topology.reroute(delivery(null), true, new IllegalArgumentException("invalid"));
+        assertThat(message.exchange()).isEqualTo("swda.dlx");
+        assertThat(RetryTopology.retryCount(message.props())).isZero();
+    }
+
+    private static Delivery delivery(final Integer retries) {
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .contentType("application/json")
+                .headers(retries != null ? Map.of(RetryTopology.RETRY_COUNT_HEADER, retries) : null)
+                .build();
+        return new Delivery(new Envelope(1L, false, "swda", "order.warehouse"), props, BODY);
+    }
+}
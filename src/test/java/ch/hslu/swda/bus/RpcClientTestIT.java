@@ -0,0 +1,86 @@
+package ch.hslu.swda.bus;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.BuiltinExchangeType;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the RPC client.
+ */
+@Testcontainers
+class RpcClientTestIT {
+
+    private static final String IMAGE = "rabbitmq:3.12";
+    private static final String EXCHANGE = "swda";
+    private static final String ROUTE = "article.get";
+
+    private Connection connection;
+    private RpcClient rpcClient;
+
+    @Container
+    private final GenericContainer<?> rabbitContainer = new GenericContainer<>(DockerImageName.parse(IMAGE))
+            .withExposedPorts(5672)
+            .withStartupTimeout(Duration.ofSeconds(60))
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*\\n", 1));
+
+    @BeforeEach
+    void initializeEnv() throws Exception {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setHost(rabbitContainer.getHost());
+        factory.setPort(rabbitContainer.getMappedPort(5672));
+        connection = factory.newConnection();
+        rpcClient = new RpcClient(connection);
+
+        // responder like a service replying with BusConnector.reply
+        Channel responder = connection.createChannel();
+        responder.exchangeDeclare(EXCHANGE, BuiltinExchangeType.TOPIC);
+        String queue = responder.queueDeclare().getQueue();
+        responder.queueBind(queue, EXCHANGE, ROUTE);
+        responder.basicConsume(queue, true, (consumerTag, delivery) -> {
+            String replyTo = delivery.getProperties().getReplyTo();
+            AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                    .correlationId(delivery.getProperties().getCorrelationId()).build();
+            String reply = "reply:" + new String(delivery.getBody(), StandardCharsets.UTF_8);
+            responder.basicPublish(RpcClient.replyExchange(EXCHANGE, replyTo), replyTo, props,
+                    reply.getBytes(StandardCharsets.UTF_8));
+        }, consumerTag -> {
+            // empty
+        });
+    }
+
+    @AfterEach
+    void cleanUp() throws Exception {
+        rpcClient.close();
+        connection.close();
+    }
+
+    @Test
+    void testCallRoundTrip() throws Exception {
+        String reply = rpcClient.call(EXCHANGE, ROUTE, "100005", Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+        assertThat(reply).isEqualTo("reply:100005");
+        assertThat(rpcClient.pendingRequests()).isZero();
+    }
+
+    @Test
+    void testReplyExchange() {
+        assertThat(RpcClient.replyExchange(EXCHANGE, "amq.rabbitmq.reply-to.g1h2AA")).isEmpty();
+        assertThat(RpcClient.replyExchange(EXCHANGE, "article.return")).isEqualTo(EXCHANGE);
+        assertThat(RpcClient.replyExchange(EXCHANGE, null)).isEqualTo(EXCHANGE);
+    }
+}
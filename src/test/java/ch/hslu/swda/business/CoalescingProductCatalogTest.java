@@ -0,0 +1,118 @@
+package ch.hslu.swda.business;
+
+import ch.hslu.swda.entities.Article;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for the coalescing product catalog.
+ */
+class CoalescingProductCatalogTest {
+
+    private CountingCatalog delegate;
+    private CoalescingProductCatalog catalog;
+
+    /**
+     * Product catalog counting the writes of reserved articles.
+     */
+    private static final class CountingCatalog extends ProductCatalogMemory {
+
+        private int writes;
+        private boolean unavailable;
+
+        @Override
+        public boolean changeReserved(long branchId, long articleId, int amount) {
+            if (unavailable) {
+                throw new IllegalStateException("unavailable");
+            }
+            writes++;
+            return super.changeReserved(branchId, articleId, amount);
+        }
+    }
+
+    @BeforeEach
+    void initializeEnv() {
+        delegate = new CountingCatalog();
+        delegate.create(1L, new Article(100005L, "Test", new BigDecimal("5.25"), 1, 10, 0));
+        catalog = new CoalescingProductCatalog(delegate, 60_000L);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        catalog.close();
+    }
+
+    @Test
+    void testIncrementsAreCoalesced() {
+        assertThat(catalog.changeReserved(1L, 100005L, 1)).isTrue();
+        assertThat(catalog.changeReserved(1L, 100005L, 2)).isTrue();
+        assertThat(catalog.changeReserved(1L, 100005L, 3)).isTrue();
+        assertThat(delegate.writes).isZero();
+        catalog.flush();
+        assertThat(delegate.writes).isEqualTo(1);
+        assertThat(delegate.getById(1L, 100005L).reserved()).isEqualTo(6);
+    }
+
+    @Test
+    void testReadFlushesPending() {
+        catalog.changeReserved(1L, 100005L, 4);
+        assertThat(catalog.getById(1L, 100005L).reserved()).isEqualTo(4);
+        assertThat(delegate.writes).isEqualTo(1);
+    }
+
+    @Test
+    void testDecrementFlushesPendingFirst() {
+        catalog.changeReserved(1L, 100005L, 3);
+        assertThat(catalog.changeReserved(1L, 100005L, -2)).isTrue();
+        assertThat(delegate.writes).isEqualTo(2);
+        assertThat(delegate.getById(1L, 100005L).reserved()).isEqualTo(1);
+    }
+
+    @Test
+    void testDecrementBelowZeroFails() {
+        catalog.changeReserved(1L, 100005L, 1);
+        assertThat(catalog.changeReserved(1L, 100005L, -2)).isFalse();
+        assertThat(delegate.getById(1L, 100005L).reserved()).isEqualTo(1);
+    }
+
+    @Test
+    void testBatchSplitsIncrementsAndDecrements() {
+        catalog.changeReserved(1L, 100005L, 5);
+        Map<Long, Boolean> result = catalog.changeReserved(1L, Map.of(100005L, -5, 100006L, 2));
+        assertThat(result).containsEntry(100005L, true).containsEntry(100006L, true);
+        assertThat(delegate.getById(1L, 100005L).reserved()).isZero();
+    }
+
+    @Test
+    void testStockIsWrittenThrough() {
+        assertThat(catalog.changeStock(1L, 100005L, 5)).isTrue();
+        assertThat(delegate.getById(1L, 100005L).stock()).isEqualTo(15);
+        assertThat(catalog.changeStock(1L, 100005L, -20)).isFalse();
+    }
+
+    @Test
+    void testFailedWriteStaysPending() {
+        catalog.changeReserved(1L, 100005L, 2);
+        delegate.unavailable = true;
+        assertThatThrownBy(catalog::flush).isInstanceOf(IllegalStateException.class);
+        delegate.unavailable = false;
+        catalog.flush();
+        assertThat(delegate.getById(1L, 100005L).reserved()).isEqualTo(2);
+    }
+
+    @Test
+    void testCloseWritesImmediately() {
+        catalog.changeReserved(1L, 100005L, 2);
+        catalog.close();
+        assertThat(delegate.getById(1L, 100005L).reserved()).isEqualTo(2);
+        catalog.changeReserved(1L, 100005L, 1);
+        assertThat(delegate.getById(1L, 100005L).reserved()).isEqualTo(3);
+    }
+}
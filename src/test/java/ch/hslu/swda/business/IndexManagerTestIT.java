@@ -0,0 +1,81 @@
+package ch.hslu.swda.business;
+
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test cases for the index manager.
+ */
+@Testcontainers
+class IndexManagerTestIT {
+
+    private static final String IMAGE = "mongo:4.2.24";
+
+    private MongoDBConnector connector;
+    private IndexManager indexManager;
+
+    @Container
+    private final GenericContainer<?> mongoContainer = new GenericContainer<>(DockerImageName.parse(IMAGE))
+            .withExposedPorts(27017)
+            .withStartupTimeout(Duration.ofSeconds(30))
+            .waitingFor(Wait.forLogMessage(".*waiting for connections on port 27017.*\\n", 1));
+
+    @BeforeEach
+    void initializeEnv() {
+        String host = mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(27017);
+        connector = new MongoDBConnector(ProductCatalogDB.COLLECTION, host, "", "");
+        indexManager = new IndexManager(connector);
+    }
+
+    @Test
+    void testVerifyReportsMissing() {
+        assertThat(indexManager.verify()).hasSize(IndexManager.INDEXES.size());
+    }
+
+    @Test
+    void testEnsureIndexes() {
+        assertThat(indexManager.ensureIndexes()).isEmpty();
+        assertThat(indexManager.ensureIndexes()).isEmpty();
+        assertThat(indexManager.verify()).isEmpty();
+    }
+
+    @Test
+    void testVerifyReportsDifferentDefinition() {
+        connector.collection(ProductCatalogDB.COLLECTION).createIndex(Indexes.ascending("branchId", "articleId"),
+                new IndexOptions().name("branchId_articleId"));
+        connector.collection(DeliveriesDB.COLLECTION).createIndex(Indexes.ascending("orderNumber"),
+                new IndexOptions().name("status"));
+        assertThat(indexManager.ensureIndexes())
+                .containsExactly("catalog.branchId_articleId", "deliveries.status");
+    }
+
+    @Test
+    void testUniqueNaturalKey() {
+        indexManager.ensureIndexes();
+        connector.collection(ReordersDB.COLLECTION).insertOne(new Document("branchId", 1L).append("reorderId", 1L));
+        assertThatThrownBy(() -> connector.collection(ReordersDB.COLLECTION)
+                .insertOne(new Document("branchId", 1L).append("reorderId", 1L)))
+                .isInstanceOf(MongoWriteException.class);
+    }
+
+    @Test
+    void testDuplicateKeysReported() {
+        connector.collection(DeliveriesDB.COLLECTION).insertOne(new Document("branchId", 1L).append("orderNumber", 1L));
+        connector.collection(DeliveriesDB.COLLECTION).insertOne(new Document("branchId", 1L).append("orderNumber", 1L));
+        assertThat(indexManager.ensureIndexes()).containsExactly("deliveries.branchId_orderNumber");
+    }
+}
@@ -0,0 +1,72 @@
+package ch.hslu.swda.business;
+
+import ch.hslu.swda.entities.OutboxMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the outbox db class.
+ */
+@Testcontainers
+class OutboxDBTestIT {
+
+    private static final String IMAGE = "mongo:4.2.24";
+
+    private Outbox outboxDB;
+
+    @Container
+    private final GenericContainer<?> mongoContainer = new GenericContainer<>(DockerImageName.parse(IMAGE))
+            .withExposedPorts(27017)
+            .withStartupTimeout(Duration.ofSeconds(30))
+            .waitingFor(Wait.forLogMessage(".*waiting for connections on port 27017.*\\n", 1));
+
+    @BeforeEach
+    void initializeEnv() {
+        String host = mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(27017);
+        outboxDB = new OutboxDB(new MongoDBConnector(OutboxDB.COLLECTION, host, "", ""));
+        outboxDB.add("log.event", "{\"message\":\"1\"}");
+        outboxDB.add("log.event", "{\"message\":\"2\"}");
+        outboxDB.add("log.event", "{\"message\":\"3\"}");
+    }
+
+    @Test
+    void testGetPendingInOrder() {
+        List<OutboxMessage> pending = outboxDB.getPending(2);
+        assertThat(pending).hasSize(2);
+        assertThat(pending).extracting(OutboxMessage::payload)
+                .containsExactly("{\"message\":\"1\"}", "{\"message\":\"2\"}");
+        assertThat(pending.get(0).route()).isEqualTo("log.event");
+    }
+
+    @Test
+    void testRemove() {
+        List<OutboxMessage> pending = outboxDB.getPending(2);
+        outboxDB.remove(pending.stream().map(OutboxMessage::id).toList());
+        assertThat(outboxDB.getPending(10)).extracting(OutboxMessage::payload)
+                .containsExactly("{\"message\":\"3\"}");
+    }
+
+    @Test
+    void testTrim() {
+        assertThat(outboxDB.trim(5)).isZero();
+        assertThat(outboxDB.trim(1)).isEqualTo(2);
+        assertThat(outboxDB.getPending(10)).extracting(OutboxMessage::payload)
+                .containsExactly("{\"message\":\"3\"}");
+    }
+
+    @Test
+    void testRemoveNone() {
+        outboxDB.remove(List.of());
+        assertThat(outboxDB.getPending(10)).hasSize(3);
+    }
+}
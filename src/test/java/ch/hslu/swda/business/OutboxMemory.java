@@ -0,0 +1,41 @@
+package ch.hslu.swda.business;
+
+import ch.hslu.swda.entities.OutboxMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory implementation of the outbox used for testing.
+ */
+public class OutboxMemory implements Outbox {
+
+    private final List<OutboxMessage> messages = new ArrayList<>();
+    private long nextId = 1;
+
+    @Override
+    public synchronized void add(String route, String payload) {
+        messages.add(new OutboxMessage(String.valueOf(nextId++), route, payload));
+    }
+
+    @Override
+    public synchronized List<OutboxMessage> getPending(int limit) {
+        return List.copyOf(messages.subList(0, Math.min(limit, messages.size())));
+    }
+
+    @Override
+    public synchronized void remove(List<String> ids) {
+        messages.removeIf(m -> ids.contains(m.id()));
+    }
+
+    @Override
+    public synchronized long trim(long maxSize) {
+        int excess = (int) Math.max(0, messages.size() - maxSize);
+        messages.subList(0, excess).clear();
+        return excess;
+    }
+
+    public synchronized int size() {
+        return messages.size();
+    }
+}
@@ -0,0 +1,54 @@
+package ch.hslu.swda.business;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the processed messages db class.
+ */
+@Testcontainers
+class ProcessedMessagesDBTestIT {
+
+    private static final String IMAGE = "mongo:4.2.24";
+
+    private ProcessedMessages processedMessagesDB;
+
+    @Container
+    private final GenericContainer<?> mongoContainer = new GenericContainer<>(DockerImageName.parse(IMAGE))
+            .withExposedPorts(27017)
+            .withStartupTimeout(Duration.ofSeconds(30))
+            .waitingFor(Wait.forLogMessage(".*waiting for connections on port 27017.*\\n", 1));
+
+    @BeforeEach
+    void initializeEnv() {
+        String host = mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(27017);
+        processedMessagesDB = new ProcessedMessagesDB(
+                new MongoDBConnector(ProcessedMessagesDB.COLLECTION, host, "", ""));
+        processedMessagesDB.add("id-1");
+    }
+
+    @Test
+    void testContainsExisting() {
+        assertThat(processedMessagesDB.contains("id-1")).isTrue();
+    }
+
+    @Test
+    void testContainsNotExisting() {
+        assertThat(processedMessagesDB.contains("id-2")).isFalse();
+    }
+
+    @Test
+    void testAddTwice() {
+        processedMessagesDB.add("id-1");
+        assertThat(processedMessagesDB.contains("id-1")).isTrue();
+    }
+}
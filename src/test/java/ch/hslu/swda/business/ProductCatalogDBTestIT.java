@@ -11,10 +11,14 @@ import org.testcontainers.utility.DockerImageName;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -116,6 +120,32 @@ class ProductCatalogDBTestIT {
         assertThat(created.reserved()).isEqualTo(article.reserved());
     }
 
+    @Test
+    void testCreateConcurrent() throws Exception {
+        String host = mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(27017);
+        new IndexManager(new MongoDBConnector(ProductCatalogDB.COLLECTION, host, "", "")).ensureIndexes();
+        // every call creates the article with a different stock, only the creating call gets its own stock back
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<Callable<Article>> creates = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            final Article article = new Article(100005L, "Test", new BigDecimal("1.00"), 5, i, 0);
+            creates.add(() -> productCatalog.create(1L, article));
+        }
+        List<Future<Article>> results = executor.invokeAll(creates);
+        executor.shutdown();
+        int creations = 0;
+        Article stored = productCatalog.getById(1L, 100005L);
+        for (int i = 0; i < results.size(); i++) {
+            Article returned = results.get(i).get();
+            assertThat(returned.stock()).isEqualTo(stored.stock());
+            if (returned.stock() == i + 1) {
+                creations++;
+            }
+        }
+        assertThat(creations).isEqualTo(1);
+        assertThat(productCatalog.getAll(1L)).hasSize(3);
+    }
+
     @Test
     void testUpdateExisting() {
         Article updated = productCatalog.update(1L, 100001L, "Test", new BigDecimal("1.00"), 5);
@@ -194,6 +224,50 @@ class ProductCatalogDBTestIT {
         assertThat(productCatalog.getById(1L, 100001L).stock()).isEqualTo(3001);
     }
 
+    @Test
+    void testChangeStockBatch() {
+        Map<Long, Boolean> result = productCatalog.changeStock(1L, Map.of(100001L, 2, 100002L, -1));
+        assertThat(result).containsEntry(100001L, true).containsEntry(100002L, true);
+        assertThat(productCatalog.getById(1L, 100001L).stock()).isEqualTo(3);
+        assertThat(productCatalog.getById(1L, 100002L).stock()).isEqualTo(1);
+    }
+
+    @Test
+    void testChangeStockBatchPartial() {
+        Map<Long, Boolean> result = productCatalog.changeStock(1L, Map.of(100001L, -2, 100002L, -2, 100005L, 1));
+        assertThat(result).containsEntry(100001L, false).containsEntry(100002L, true).containsEntry(100005L, false);
+        assertThat(productCatalog.getById(1L, 100001L).stock()).isEqualTo(1);
+        assertThat(productCatalog.getById(1L, 100002L).stock()).isEqualTo(0);
+    }
+
+    @Test
+    void testChangeStockBatchMixed() {
+        Map<Long, Integer> amounts = new LinkedHashMap<>();
+        amounts.put(100001L, 4);
+        amounts.put(100002L, -2);
+        amounts.put(100005L, -1);
+        Map<Long, Boolean> result = productCatalog.changeStock(1L, amounts);
+        assertThat(result).containsExactly(Map.entry(100001L, true), Map.entry(100002L, true),
+                Map.entry(100005L, false));
+        assertThat(productCatalog.getById(1L, 100001L).stock()).isEqualTo(5);
+        assertThat(productCatalog.getById(1L, 100002L).stock()).isZero();
+    }
+
+    @Test
+    void testChangeStockBatchNegative() {
+        productCatalog.create(1L, new Article(100003L, "Test3", new BigDecimal("1.50"), 1, 5, 0));
+        Map<Long, Boolean> result = productCatalog.changeStock(1L, Map.of(100001L, -1, 100002L, -3, 100003L, -4));
+        assertThat(result).containsEntry(100001L, true).containsEntry(100002L, false).containsEntry(100003L, true);
+        assertThat(productCatalog.getById(1L, 100001L).stock()).isZero();
+        assertThat(productCatalog.getById(1L, 100002L).stock()).isEqualTo(2);
+        assertThat(productCatalog.getById(1L, 100003L).stock()).isEqualTo(1);
+    }
+
+    @Test
+    void testChangeStockBatchEmpty() {
+        assertThat(productCatalog.changeStock(1L, Map.of())).isEmpty();
+    }
+
     @Test
     void testChangeReservedNotExisting() {
         boolean result = productCatalog.changeReserved(1L, 100005L, 2);
@@ -239,6 +313,14 @@ class ProductCatalogDBTestIT {
         assertThat(productCatalog.getById(1L, 100001L).reserved()).isEqualTo(3001);
     }
 
+    @Test
+    void testChangeReservedBatch() {
+        Map<Long, Boolean> result = productCatalog.changeReserved(1L, Map.of(100001L, -1, 100002L, -3));
+        assertThat(result).containsEntry(100001L, true).containsEntry(100002L, false);
+        assertThat(productCatalog.getById(1L, 100001L).reserved()).isEqualTo(0);
+        assertThat(productCatalog.getById(1L, 100002L).reserved()).isEqualTo(2);
+    }
+
     @Test
     void testGetLowStock() {
         Article articleOk = new Article(100005L, "Test", new BigDecimal("1.00"), 5, 5, 0);
@@ -0,0 +1,74 @@
+package ch.hslu.swda.business;
+
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the sequence allocator.
+ */
+@Testcontainers
+class SequenceAllocatorTestIT {
+
+    private static final String IMAGE = "mongo:4.2.24";
+
+    private MongoCollection<Document> counters;
+
+    @Container
+    private final GenericContainer<?> mongoContainer = new GenericContainer<>(DockerImageName.parse(IMAGE))
+            .withExposedPorts(27017)
+            .withStartupTimeout(Duration.ofSeconds(30))
+            .waitingFor(Wait.forLogMessage(".*waiting for connections on port 27017.*\\n", 1));
+
+    @BeforeEach
+    void initializeEnv() {
+        String host = mongoContainer.getHost() + ":" + mongoContainer.getMappedPort(27017);
+        counters = new MongoDBConnector(SequenceAllocator.COLLECTION, host, "", "").collection();
+    }
+
+    @Test
+    void testNextIsConsecutiveWithinBlock() {
+        SequenceAllocator allocator = new SequenceAllocator(counters, "test", 3, () -> 0L);
+        assertThat(allocator.next()).isEqualTo(1L);
+        assertThat(allocator.next()).isEqualTo(2L);
+        assertThat(allocator.next()).isEqualTo(3L);
+        assertThat(allocator.next()).isEqualTo(4L);
+        assertThat(counters.find().first().getLong("value")).isEqualTo(6L);
+    }
+
+    @Test
+    void testSeededWithHighestId() {
+        SequenceAllocator allocator = new SequenceAllocator(counters, "test", 10, () -> 41L);
+        assertThat(allocator.next()).isEqualTo(42L);
+    }
+
+    @Test
+    void testSeedIgnoredForExistingCounter() {
+        new SequenceAllocator(counters, "test", 10, () -> 0L).next();
+        SequenceAllocator allocator = new SequenceAllocator(counters, "test", 10, () -> 100L);
+        assertThat(allocator.next()).isEqualTo(11L);
+    }
+
+    @Test
+    void testAllocatorsNeverShareIds() {
+        SequenceAllocator first = new SequenceAllocator(counters, "test", 4, () -> 0L);
+        SequenceAllocator second = new SequenceAllocator(counters, "test", 4, () -> 0L);
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            assertThat(ids.add(first.next())).isTrue();
+            assertThat(ids.add(second.next())).isTrue();
+        }
+    }
+}
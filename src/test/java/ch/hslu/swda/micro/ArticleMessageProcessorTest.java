@@ -2,12 +2,15 @@ package ch.hslu.swda.micro;
 
 import ch.hslu.swda.business.ProductCatalog;
 import ch.hslu.swda.business.ProductCatalogMemory;
+import ch.hslu.swda.dto.ArticleGetDTO;
 import ch.hslu.swda.dto.OrderDTO;
 import ch.hslu.swda.entities.Article;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +42,7 @@ class ArticleMessageProcessorTest {
         TimeUnit.MILLISECONDS.sleep(100);
         String response = publisher.getMessage(Routes.ARTICLE_RETURN);
         assertThat(response).isNull();
+        assertThat(listener.getFailures()).singleElement().isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -71,4 +75,15 @@ class ArticleMessageProcessorTest {
                 "\"articles\":[{\"articleId\":100001,\"name\":\"Article 1\",\"price\":5.25}]," +
                 "\"error\":[\"article 100005 not found in catalog\"]}");
     }
+
+    @Test
+    void testValidMessageReceivedCbor() throws InterruptedException, IOException {
+        byte[] message = MessageSerializers.writer(WireFormat.CBOR, ArticleGetDTO.class)
+                .writeValueAsBytes(new ArticleGetDTO(1L, 5L, List.of(100002L)));
+        listener.mockMessage(Routes.ARTICLE_GET, WireFormat.CBOR, message);
+        TimeUnit.MILLISECONDS.sleep(100);
+        String response = publisher.getMessage(Routes.ARTICLE_RETURN);
+        assertThat(response).isEqualTo("{\"branchId\":1,\"orderNumber\":5," +
+                "\"articles\":[{\"articleId\":100002,\"name\":\"Article 2\",\"price\":9.95}],\"error\":[]}");
+    }
 }
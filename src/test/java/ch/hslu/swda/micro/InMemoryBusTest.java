@@ -0,0 +1,122 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.dto.LogEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the in-memory bus.
+ */
+class InMemoryBusTest {
+
+    private final InMemoryBus bus = new InMemoryBus(10, 4, () -> 0L);
+
+    @AfterEach
+    void cleanUp() {
+        bus.close();
+    }
+
+    @Test
+    void testMatches() {
+        assertThat(InMemoryBus.matches("order.warehouse", "order.warehouse")).isTrue();
+        assertThat(InMemoryBus.matches("order.*", "order.warehouse")).isTrue();
+        assertThat(InMemoryBus.matches("*.warehouse", "order.warehouse")).isTrue();
+        assertThat(InMemoryBus.matches("#", "order.warehouse")).isTrue();
+        assertThat(InMemoryBus.matches("order.#", "order")).isTrue();
+        assertThat(InMemoryBus.matches("#.warehouse", "a.b.warehouse")).isTrue();
+        assertThat(InMemoryBus.matches("order.*", "order")).isFalse();
+        assertThat(InMemoryBus.matches("order.*", "order.warehouse.get")).isFalse();
+        assertThat(InMemoryBus.matches("order.warehouse", "log.event")).isFalse();
+    }
+
+    @Test
+    void testPublishToMatchingSubscriptions() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(2);
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        new MessageListenerInMemory(bus).receiveMessages("log.*", (format, body) -> {
+            messages.add(new String(body, StandardCharsets.UTF_8));
+            received.countDown();
+        });
+        new MessageListenerInMemory(bus).receiveMessages(Routes.LOG_EVENT, (format, body) -> received.countDown());
+
+        MessagePublisher<LogEventDTO> publisher = new MessagePublisherInMemory<>(bus, WireFormat.JSON);
+        assertThat(publisher.sendMessage(Routes.LOG_EVENT, new LogEventDTO(1L, "test", "message"))).isCompleted();
+        publisher.sendMessage(Routes.ORDER, new LogEventDTO(1L, "test", "message"));
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(messages).singleElement().asString().contains("\"message\":\"message\"");
+        assertThat(bus.published()).isEqualTo(2L);
+        assertThat(bus.unroutable()).isEqualTo(1L);
+    }
+
+    @Test
+    void testSubscribeAfterPublishReceivesLaterMessages() throws InterruptedException {
+        bus.publish(Routes.LOG_EVENT, WireFormat.JSON, new byte[0]);
+        CountDownLatch received = new CountDownLatch(1);
+        bus.subscribe(Routes.LOG_EVENT, null, (format, body) -> received.countDown());
+        bus.publish(Routes.LOG_EVENT, WireFormat.JSON, new byte[0]);
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bus.unroutable()).isEqualTo(1L);
+    }
+
+    @Test
+    void testPartitionedKeepsOrder() throws InterruptedException {
+        final int count = 200;
+        CountDownLatch received = new CountDownLatch(count);
+        List<Integer> even = Collections.synchronizedList(new ArrayList<>());
+        new MessageListenerInMemory(bus).receiveMessages(Routes.LOG_EVENT,
+                (format, body) -> Integer.parseInt(new String(body, StandardCharsets.UTF_8)) % 2,
+                (format, body) -> {
+                    int value = Integer.parseInt(new String(body, StandardCharsets.UTF_8));
+                    if (value % 2 == 0) {
+                        even.add(value);
+                    }
+                    received.countDown();
+                });
+        for (int i = 0; i < count; i++) {
+            bus.publish(Routes.LOG_EVENT, WireFormat.JSON, String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(even).hasSize(count / 2).isSorted();
+        assertThat(bus.delivered()).isEqualTo(count);
+    }
+
+    @Test
+    void testFailedMessagesAreCounted() throws InterruptedException {
+        CountDownLatch received = new CountDownLatch(1);
+        new MessageListenerInMemory(bus).receiveMessages(Routes.LOG_EVENT, (format, body) -> {
+            received.countDown();
+            throw new IllegalArgumentException("invalid");
+        });
+        bus.publish(Routes.LOG_EVENT, WireFormat.JSON, new byte[0]);
+
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(bus.failed()).isEqualTo(1L);
+        assertThat(bus.delivered()).isZero();
+    }
+
+    @Test
+    void testLatencyIsInjected() throws InterruptedException {
+        try (InMemoryBus slow = new InMemoryBus(10, 1, () -> 200L)) {
+            CountDownLatch received = new CountDownLatch(1);
+            new MessageListenerInMemory(slow).receiveMessages(Routes.LOG_EVENT, (format, body) -> received.countDown());
+            long start = System.nanoTime();
+            slow.publish(Routes.LOG_EVENT, WireFormat.JSON, new byte[0]);
+
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(200L);
+        }
+    }
+}
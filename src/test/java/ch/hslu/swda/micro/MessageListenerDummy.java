@@ -1,25 +1,41 @@
 package ch.hslu.swda.micro;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.function.BiConsumer;
 
 /**
  * Dummy implementation of the message listener used for testing.
  */
 public class MessageListenerDummy implements MessageListener {
 
-    private final Map<String, Consumer<String>> callbacks = new HashMap<>();
+    private final Map<String, BiConsumer<WireFormat, byte[]>> callbacks = new HashMap<>();
+    private final List<RuntimeException> failures = new ArrayList<>();
 
     @Override
-    public void receiveMessages(final String route, final Consumer<String> callback) {
+    public void receiveMessages(final String route, final BiConsumer<WireFormat, byte[]> callback) {
         callbacks.put(route, callback);
     }
 
     public void mockMessage(final String route, final String message) {
-        Consumer<String> callback = callbacks.get(route);
+        mockMessage(route, WireFormat.JSON, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public void mockMessage(final String route, final WireFormat format, final byte[] message) {
+        BiConsumer<WireFormat, byte[]> callback = callbacks.get(route);
         if (callback != null) {
-            callback.accept(message);
+            try {
+                callback.accept(format, message);
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
         }
     }
+
+    public List<RuntimeException> getFailures() {
+        return failures;
+    }
 }
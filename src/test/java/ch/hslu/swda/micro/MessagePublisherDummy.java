@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Dummy implementation of the message publisher used for testing.
@@ -14,12 +15,13 @@ public class MessagePublisherDummy<T> implements MessagePublisher<T> {
     private final Map<String, String> messages = new HashMap<>();
 
     @Override
-    public void sendMessage(final String route, final T messageObject) {
+    public CompletableFuture<Void> sendMessage(final String route, final T messageObject) {
         try {
             messages.put(route, new ObjectMapper().writeValueAsString(messageObject));
         } catch (JsonProcessingException e) {
             messages.put(route, "Failed to serialize message: {}" + e.getMessage());
         }
+        return CompletableFuture.completedFuture(null);
     }
 
     public String getMessage(final String route) {
@@ -0,0 +1,105 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.dto.ArticleOrderDTO;
+import ch.hslu.swda.dto.OrderDTO;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a new object mapper per message with the shared readers and writers of {@link MessageSerializers}.
+ * <p>
+ * Not part of the test run, start it with the main method from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageSerializersBenchmark {
+
+    private OrderDTO order;
+    private byte[] message;
+    private ObjectReader blackbirdReader;
+    private ObjectWriter blackbirdWriter;
+
+    /**
+     * Creates an order message with 20 articles.
+     *
+     * @throws IOException IOException.
+     */
+    @Setup
+    public void setup() throws IOException {
+        List<ArticleOrderDTO> articles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            articles.add(new ArticleOrderDTO(100000L + i, "Article " + i, new BigDecimal("9.95"), i + 1, null));
+        }
+        order = new OrderDTO(1L, 1L, articles, List.of());
+        message = new ObjectMapper().writeValueAsBytes(order);
+        ObjectMapper blackbird = MessageSerializers.createMapper(WireFormat.JSON, true);
+        blackbirdReader = blackbird.readerFor(OrderDTO.class);
+        blackbirdWriter = blackbird.writerFor(OrderDTO.class);
+    }
+
+    @Benchmark
+    public OrderDTO readPerMessageMapper() throws IOException {
+        return new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readValue(message, OrderDTO.class);
+    }
+
+    @Benchmark
+    public OrderDTO readSharedReader() throws IOException {
+        return MessageSerializers.reader(OrderDTO.class).readValue(message);
+    }
+
+    @Benchmark
+    public OrderDTO readBlackbirdReader() throws IOException {
+        return blackbirdReader.readValue(message);
+    }
+
+    @Benchmark
+    public byte[] writePerMessageMapper() throws IOException {
+        return new ObjectMapper().writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] writeSharedWriter() throws IOException {
+        return MessageSerializers.writer(OrderDTO.class).writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] writeBlackbirdWriter() throws IOException {
+        return blackbirdWriter.writeValueAsBytes(order);
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     * @throws RunnerException RunnerException.
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MessageSerializersBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.dto.ArticleGetDTO;
+import ch.hslu.swda.dto.ArticleOrderDTO;
+import ch.hslu.swda.dto.OrderDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageSerializersTest {
+
+    @Test
+    void testReaderIsShared() {
+        assertThat(MessageSerializers.reader(OrderDTO.class)).isSameAs(MessageSerializers.reader(OrderDTO.class));
+    }
+
+    @Test
+    void testWriterIsShared() {
+        assertThat(MessageSerializers.writer(OrderDTO.class)).isSameAs(MessageSerializers.writer(OrderDTO.class));
+    }
+
+    @Test
+    void testReaderIgnoresUnknownProperties() throws IOException {
+        byte[] message = "{\"branchId\":1,\"orderNumber\":2,\"articles\":[3],\"unknown\":true}"
+                .getBytes(StandardCharsets.UTF_8);
+        ArticleGetDTO dto = MessageSerializers.reader(ArticleGetDTO.class).readValue(message);
+        assertThat(dto).isEqualTo(new ArticleGetDTO(1L, 2L, List.of(3L)));
+    }
+
+    @Test
+    void testWriterMatchesObjectMapper() throws IOException {
+        OrderDTO dto = new OrderDTO(1L, 2L,
+                List.of(new ArticleOrderDTO(100001L, "Article", new BigDecimal("5.25"), 3, null)), List.of());
+        byte[] expected = new ObjectMapper().writeValueAsBytes(dto);
+        assertThat(MessageSerializers.writer(OrderDTO.class).writeValueAsBytes(dto)).isEqualTo(expected);
+    }
+
+    @Test
+    void testBlackbirdRoundTrip() throws IOException {
+        OrderDTO dto = new OrderDTO(1L, 2L,
+                List.of(new ArticleOrderDTO(100001L, "Article", new BigDecimal("5.25"), 3, null)), List.of("error"));
+        ObjectMapper mapper = MessageSerializers.createMapper(WireFormat.JSON, true);
+        byte[] message = mapper.writerFor(OrderDTO.class).writeValueAsBytes(dto);
+        OrderDTO parsed = mapper.readerFor(OrderDTO.class).readValue(message);
+        assertThat(parsed).isEqualTo(dto);
+    }
+
+    @Test
+    void testBinaryFormatsRoundTrip() throws IOException {
+        OrderDTO dto = new OrderDTO(1L, 2L,
+                List.of(new ArticleOrderDTO(100001L, "Article", new BigDecimal("5.25"), 3, null)), List.of());
+        byte[] json = MessageSerializers.writer(OrderDTO.class).writeValueAsBytes(dto);
+        for (WireFormat format : List.of(WireFormat.CBOR, WireFormat.SMILE)) {
+            byte[] message = MessageSerializers.writer(format, OrderDTO.class).writeValueAsBytes(dto);
+            OrderDTO parsed = MessageSerializers.reader(format, OrderDTO.class).readValue(message);
+            assertThat(parsed).isEqualTo(dto);
+            assertThat(message).isNotEqualTo(json);
+        }
+    }
+}
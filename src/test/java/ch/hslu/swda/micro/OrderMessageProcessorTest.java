@@ -9,6 +9,7 @@ import ch.hslu.swda.entities.DeliveryStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +41,7 @@ class OrderMessageProcessorTest {
         listener.mockMessage(Routes.ORDER, "{}");
         TimeUnit.MILLISECONDS.sleep(100);
         assertThat(deliveries.getAllByBranch(1L, null)).hasSize(2);
+        assertThat(listener.getFailures()).singleElement().isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
@@ -194,6 +196,40 @@ class OrderMessageProcessorTest {
         assertThat(deliveries.getById(1L, 2L).articles().get(0).status()).isEqualTo(DeliveryArticleStatus.DELIVERED);
     }
 
+    @Test
+    void testNewDeliveryWithoutRead() {
+        DeliveriesMemory withoutRead = new DeliveriesMemory() {
+            @Override
+            public Delivery getById(long branchId, long orderNumber) {
+                throw new AssertionError("new delivery should not be read first");
+            }
+        };
+        OrderMessageProcessor processor = new OrderMessageProcessor(listener, withoutRead);
+        String message = createMessageString(5L, List.of(createMessageStringArticle(100001L, 1, null)));
+        processor.process(WireFormat.JSON, message.getBytes(StandardCharsets.UTF_8));
+        assertThat(withoutRead.getAllByBranch(1L, null)).hasSize(1);
+    }
+
+    @Test
+    void testAlreadyCreatedDeliveryIsMerged() {
+        OrderMessageProcessor processor = new OrderMessageProcessor(listener, deliveries);
+        String first = createMessageString(5L, List.of(createMessageStringArticle(100001L, 1, null)));
+        String second = createMessageString(5L, List.of(createMessageStringArticle(100002L, 2, null)));
+        processor.process(WireFormat.JSON, first.getBytes(StandardCharsets.UTF_8));
+        processor.process(WireFormat.JSON, second.getBytes(StandardCharsets.UTF_8));
+        assertThat(deliveries.getById(1L, 5L).status()).isEqualTo(DeliveryStatus.MODIFIED);
+        assertThat(deliveries.getById(1L, 5L).articles()).extracting(DeliveryArticle::articleId)
+                .containsExactly(100001L, 100002L);
+    }
+
+    @Test
+    void testPartitionKey() {
+        String message = createMessageString(5L, List.of(createMessageStringArticle(100001L, 1, null)));
+        OrderMessageProcessor.OrderKey key = OrderMessageProcessor.partitionKey(WireFormat.JSON,
+                message.getBytes(StandardCharsets.UTF_8));
+        assertThat(key).isEqualTo(new OrderMessageProcessor.OrderKey(1L, 5L));
+    }
+
     private String createMessageString(long orderNumber, List<String> articles) {
         StringBuilder message = new StringBuilder();
         message.append("{\"branchId\":").append(1L);
@@ -0,0 +1,145 @@
+package ch.hslu.swda.micro;
+
+import ch.hslu.swda.business.OutboxMemory;
+import ch.hslu.swda.dto.LogEventDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test cases for the outbox publisher and relay.
+ */
+class OutboxRelayTest {
+
+    private OutboxMemory outbox;
+    private List<String> sent;
+    private boolean confirm;
+    private boolean hold;
+    private List<CompletableFuture<Void>> held;
+
+    @BeforeEach
+    void initializeEnv() {
+        outbox = new OutboxMemory();
+        sent = new ArrayList<>();
+        confirm = true;
+        hold = false;
+        held = new ArrayList<>();
+    }
+
+    @Test
+    void testPublisherStoresMessage() {
+        MessagePublisher<LogEventDTO> publisher = new OutboxMessagePublisher<>(outbox);
+        CompletableFuture<Void> stored = publisher.sendMessage(Routes.LOG_EVENT, new LogEventDTO(1L, "test", "1"));
+        assertThat(stored).isCompleted();
+        assertThat(outbox.size()).isEqualTo(1);
+        assertThat(outbox.getPending(1).get(0).route()).isEqualTo(Routes.LOG_EVENT);
+        assertThat(sent).isEmpty();
+    }
+
+    @Test
+    void testRelayPublishesAllBatches() {
+        MessagePublisher<LogEventDTO> publisher = new OutboxMessagePublisher<>(outbox);
+        for (int i = 0; i < 5; i++) {
+            publisher.sendMessage(Routes.LOG_EVENT, new LogEventDTO(1L, "test", String.valueOf(i)));
+        }
+        new OutboxRelay(outbox, this::send, 2, 100).run();
+        assertThat(sent).hasSize(5).allMatch(payload -> payload.startsWith("{"));
+        assertThat(sent.get(4)).contains("\"4\"");
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    void testRelayKeepsUnconfirmedMessages() {
+        MessagePublisher<LogEventDTO> publisher = new OutboxMessagePublisher<>(outbox);
+        publisher.sendMessage(Routes.LOG_EVENT, new LogEventDTO(1L, "test", "1"));
+        confirm = false;
+        new OutboxRelay(outbox, this::send, 2, 100).run();
+        assertThat(outbox.size()).isEqualTo(1);
+        confirm = true;
+        new OutboxRelay(outbox, this::send, 2, 100).run();
+        assertThat(outbox.size()).isZero();
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void testRelayPublishesPayloadAsStored() {
+        outbox.add(Routes.LOG_EVENT, "{\"message\":\"stored\"}");
+        new OutboxRelay(outbox, this::send, 2, 100).run();
+        assertThat(sent).containsExactly("{\"message\":\"stored\"}");
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    void testRelayDropsOldestBeyondMaxSize() {
+        for (int i = 0; i < 5; i++) {
+            outbox.add(Routes.LOG_EVENT, "{\"message\":\"" + i + "\"}");
+        }
+        new OutboxRelay(outbox, this::send, 10, 2).run();
+        assertThat(sent).containsExactly("{\"message\":\"3\"}", "{\"message\":\"4\"}");
+    }
+
+    @Test
+    void testOutageDoesNotDuplicateMessages() {
+        outbox.add(Routes.LOG_EVENT, "{\"message\":\"1\"}");
+        outbox.add(Routes.LOG_EVENT, "{\"message\":\"2\"}");
+        EncodedMessagePublisher unavailable = new EncodedMessagePublisher() {
+            @Override
+            public List<CompletableFuture<Void>> sendEncoded(final String route, final WireFormat format,
+                                                             final List<byte[]> messages) {
+                return send(route, format, messages);
+            }
+
+            @Override
+            public boolean isAvailable() {
+                return false;
+            }
+        };
+        new OutboxRelay(outbox, unavailable, 10, 100, 10).run();
+        assertThat(sent).isEmpty();
+
+        // the publisher buffers the messages until the connection recovered
+        hold = true;
+        OutboxRelay relay = new OutboxRelay(outbox, this::send, 10, 100, 10);
+        relay.run();
+        relay.run();
+        relay.run();
+        assertThat(sent).hasSize(2);
+        assertThat(outbox.size()).isEqualTo(2);
+
+        held.forEach(future -> future.complete(null));
+        relay.run();
+        assertThat(sent).hasSize(2);
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    void testRelayWaitsOnceForTheBatch() {
+        for (int i = 0; i < 5; i++) {
+            outbox.add(Routes.LOG_EVENT, "{\"message\":\"" + i + "\"}");
+        }
+        hold = true;
+        long start = System.nanoTime();
+        new OutboxRelay(outbox, this::send, 10, 100, 200).run();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(900L);
+        assertThat(sent).hasSize(5);
+    }
+
+    private List<CompletableFuture<Void>> send(final String route, final WireFormat format,
+                                               final List<byte[]> messages) {
+        messages.forEach(message -> sent.add(new String(message, StandardCharsets.UTF_8)));
+        if (hold) {
+            List<CompletableFuture<Void>> futures = messages.stream().map(m -> new CompletableFuture<Void>()).toList();
+            held.addAll(futures);
+            return futures;
+        }
+        return messages.stream().map(message -> confirm ? CompletableFuture.<Void>completedFuture(null)
+                : CompletableFuture.<Void>failedFuture(new IllegalStateException("not confirmed"))).toList();
+    }
+}
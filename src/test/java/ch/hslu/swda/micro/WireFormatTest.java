@@ -0,0 +1,30 @@
+package ch.hslu.swda.micro;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatTest {
+
+    @Test
+    void testFromContentType() {
+        assertThat(WireFormat.fromContentType("application/json")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.fromContentType("application/cbor")).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.fromContentType("application/x-jackson-smile")).isEqualTo(WireFormat.SMILE);
+    }
+
+    @Test
+    void testFromContentTypeWithParameters() {
+        assertThat(WireFormat.fromContentType("Application/CBOR; charset=binary")).isEqualTo(WireFormat.CBOR);
+    }
+
+    @Test
+    void testFromContentTypeMissing() {
+        assertThat(WireFormat.fromContentType(null)).isEqualTo(WireFormat.JSON);
+    }
+
+    @Test
+    void testFromContentTypeUnknown() {
+        assertThat(WireFormat.fromContentType("text/plain")).isEqualTo(WireFormat.JSON);
+    }
+}